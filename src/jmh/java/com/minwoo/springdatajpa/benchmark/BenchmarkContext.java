@@ -0,0 +1,40 @@
+package com.minwoo.springdatajpa.benchmark;
+
+import com.minwoo.springdatajpa.SpringDataJpaApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// benchmark용 application context - mysql 대신 h2(mysql mode) 메모리 db 사용
+// sql 로그, p6spy, 2차 cache를 끄고 순수 조회 비용만 측정
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String name, Map<String, Object> overrides) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.jpa.properties.hibernate.show_sql", false);
+        properties.put("spring.jpa.properties.hibernate.format_sql", false);
+        properties.put("spring.jpa.properties.hibernate.cache.use_second_level_cache", false);
+        properties.put("spring.jpa.properties.hibernate.cache.use_query_cache", false);
+        properties.put("spring.jpa.properties.hibernate.generate_statistics", true);
+        properties.put("decorator.datasource.enabled", false);
+        properties.put("logging.level.root", "warn");
+        properties.put("logging.level.org.hibernate.sql", "warn");
+        properties.putAll(overrides);
+
+        return new SpringApplicationBuilder(SpringDataJpaApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties)
+                .run();
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.minwoo.springdatajpa.benchmark;
+
+import com.minwoo.springdatajpa.entity.Member;
+import com.minwoo.springdatajpa.entity.Team;
+import com.minwoo.springdatajpa.repository.MemberBulkRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 영속 entity가 많을 때 flush(dirty checking) 비용
+// enhancement 없으면 flush마다 entity 전체를 loaded snapshot과 field 단위로 비교 / 있으면 entity가 기록한 변경 field만 확인
+// ./gradlew jmh -Pjmh.includes=FlushBenchmark 와 -PnoEnhance 를 붙인 결과를 비교
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FlushBenchmark {
+
+    @Param({"10000"})
+    int members;
+
+    ConfigurableApplicationContext context;
+    EntityManager em;
+    List<Member> managed;
+    int round;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("flush" + members, Map.of());
+
+        MemberBulkRepository bulkRepository = context.getBean(MemberBulkRepository.class);
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            teams.add(new Team("team" + i));
+        }
+        bulkRepository.saveAllTeams(teams);
+
+        List<Member> memberList = new ArrayList<>();
+        for (int i = 0; i < members; i++) {
+            memberList.add(new Member("flush" + i, i % 100, teams.get(i % teams.size())));
+        }
+        bulkRepository.saveAllMembers(memberList);
+
+        // transaction 하나에 members개를 영속 상태로 올려둠(batch job에서 chunk를 처리하는 상황)
+        em = context.getBean(EntityManagerFactory.class).createEntityManager();
+        em.getTransaction().begin();
+        managed = em.createQuery("select m from Member m", Member.class).getResultList();
+    }
+
+    // flush에서 실행한 update가 한 transaction에 계속 쌓이지 않도록 iteration마다 commit
+    @TearDown(Level.Iteration)
+    public void commit() {
+        em.getTransaction().commit();
+        em.getTransaction().begin();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        em.getTransaction().rollback();
+        em.close();
+        context.close();
+    }
+
+    // 변경 없음 - sql 없이 dirty checking만
+    @Benchmark
+    public void flushClean() {
+        em.flush();
+    }
+
+    // 한 건만 변경 - update 1번 + 나머지 entity dirty checking
+    @Benchmark
+    public void flushOneDirty() {
+        Member member = managed.get(round++ % managed.size());
+        member.setAge(member.getAge() + 1);
+        em.flush();
+    }
+
+}
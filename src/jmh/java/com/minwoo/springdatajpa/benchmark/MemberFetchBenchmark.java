@@ -0,0 +1,163 @@
+package com.minwoo.springdatajpa.benchmark;
+
+import com.minwoo.springdatajpa.dto.MemberDto;
+import com.minwoo.springdatajpa.entity.Member;
+import com.minwoo.springdatajpa.entity.Team;
+import com.minwoo.springdatajpa.repository.MemberBulkRepository;
+import com.minwoo.springdatajpa.repository.MemberProjection;
+import com.minwoo.springdatajpa.repository.MemberRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// member + team 조회 방식별 처리량 비교
+// team 이름까지 접근해야 같은 일을 한 것 -> lazy 조회(N + 1)도 포함해서 측정
+// sql 실행 수는 SqlCounter(statements / calls)로 같이 출력
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MemberFetchBenchmark {
+
+    @Param({"1000", "10000"})
+    int members;
+
+    @Param({"100"})
+    int teams;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    TransactionTemplate transaction;
+    Statistics statistics;
+    int lookup;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class SqlCounter {
+
+        public long statements;
+        public long calls;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            calls = 0;
+        }
+
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("fetch" + members, Map.of());
+        memberRepository = context.getBean(MemberRepository.class);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        MemberBulkRepository bulkRepository = context.getBean(MemberBulkRepository.class);
+        List<Team> teamList = new ArrayList<>();
+        for (int i = 0; i < teams; i++) {
+            teamList.add(new Team("team" + i));
+        }
+        bulkRepository.saveAllTeams(teamList);
+
+        List<Member> memberList = new ArrayList<>();
+        for (int i = 0; i < members; i++) {
+            memberList.add(new Member("bench" + i, i % 100, teamList.get(i % teams)));
+        }
+        bulkRepository.saveAllMembers(memberList);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // 연관관계 lazy 조회 -> member 수만큼 team select(N + 1)
+    @Benchmark
+    public long lazy(SqlCounter counter) {
+        return measure(counter, () -> teamNames(memberRepository.findMembersByCustom()));
+    }
+
+    @Benchmark
+    public long fetchJoin(SqlCounter counter) {
+        return measure(counter, () -> teamNames(memberRepository.findMemberFetchJoin()));
+    }
+
+    @Benchmark
+    public long entityGraph(SqlCounter counter) {
+        return measure(counter, () -> teamNames(memberRepository.findAll()));
+    }
+
+    @Benchmark
+    public long entityGraphQuery(SqlCounter counter) {
+        return measure(counter, () -> teamNames(memberRepository.findAllEntityGraph()));
+    }
+
+    @Benchmark
+    public long dtoProjection(SqlCounter counter) {
+        return measure(counter, () -> {
+            long sum = 0;
+            for (MemberDto dto : memberRepository.findMemberDto()) {
+                sum += dto.getTeamName().length();
+            }
+            return sum;
+        });
+    }
+
+    // page 조회라 count query까지 포함
+    @Benchmark
+    public long nativeProjection(SqlCounter counter) {
+        return measure(counter, () -> {
+            long sum = 0;
+            for (MemberProjection projection : memberRepository.findByNativeQueryByProjection(PageRequest.of(0, members))) {
+                if (projection.getTeamName() != null) {
+                    sum += projection.getTeamName().length();
+                }
+            }
+            return sum;
+        });
+    }
+
+    // 단건 조회 - readOnly hint 유무(flush 시 snapshot 비교) 비교
+    @Benchmark
+    public long lookup(SqlCounter counter) {
+        String username = "bench" + (lookup++ % members);
+        return measure(counter, () -> memberRepository.findMemberByUsername(username).getAge());
+    }
+
+    @Benchmark
+    public long readOnlyLookup(SqlCounter counter) {
+        String username = "bench" + (lookup++ % members);
+        return measure(counter, () -> memberRepository.findReadOnlyByUsername(username).getAge());
+    }
+
+    // 매 호출을 transaction 하나로 감싸서 commit 시 flush(dirty checking)까지 측정
+    private long measure(SqlCounter counter, Supplier<Long> work) {
+        long before = statistics.getPrepareStatementCount();
+        Long result = transaction.execute(status -> work.get());
+        counter.statements += statistics.getPrepareStatementCount() - before;
+        counter.calls++;
+        return result;
+    }
+
+    private static long teamNames(List<Member> members) {
+        long sum = 0;
+        for (Member member : members) {
+            if (member.getTeam() != null) {
+                sum += member.getTeam().getName().length();
+            }
+        }
+        return sum;
+    }
+
+}
@@ -1,26 +1,34 @@
 package com.minwoo.springdatajpa;
 
+import com.minwoo.springdatajpa.audit.AuditorIdGenerator;
+import com.minwoo.springdatajpa.audit.TransactionAuditorAware;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
-
-import java.util.Optional;
-import java.util.UUID;
+import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableJpaAuditing
-@SpringBootApplication
+@EnableRetry // 낙관적 lock 충돌 재시도(@Retryable) - transaction보다 바깥에서 동작
+@EnableScheduling // TeamMemberCountReconciler
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class) // r2dbc driver가 있으면 ConnectionFactory를 만들고 jdbc DataSource 자동 설정이 빠짐 -> ReactiveConfig
 public class SpringDataJpaApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(SpringDataJpaApplication.class, args);
+		SpringApplication application = new SpringApplication(SpringDataJpaApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(10000)); // 기동 step 기록(StartupTimingReporter)
+		application.run(args);
 	}
 
+	// 매 insert/update마다 UUID를 만들지 않고 transaction당 한 번만 auditor를 구함
 	@Bean
-	public AuditorAware<String> auditorProvider() {
-		return () -> Optional.of(UUID.randomUUID().toString());
+	public AuditorAware<String> auditorProvider(AuditorIdGenerator auditorIdGenerator) {
+		return new TransactionAuditorAware(auditorIdGenerator);
 	}
 
 }
@@ -0,0 +1,32 @@
+package com.minwoo.springdatajpa.audit;
+
+import com.minwoo.springdatajpa.entity.BulkAuditingEntityListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.auditing.AuditingHandler;
+
+import java.util.UUID;
+
+@Configuration
+public class AuditConfig {
+
+    // app.auditor.id-generator: monotonic(기본) / uuid(이전 방식)
+    @Bean
+    public AuditorIdGenerator auditorIdGenerator(@Value("${app.auditor.id-generator:monotonic}") String type) {
+        if ("uuid".equals(type)) {
+            return () -> UUID.randomUUID().toString();
+        }
+        return new MonotonicAuditorIdGenerator();
+    }
+
+    // hibernate가 spring bean에서 listener를 꺼내 쓰므로 bean으로 등록해서 auditingHandler를 넣어줌
+    @Bean
+    public BulkAuditingEntityListener bulkAuditingEntityListener(ObjectProvider<AuditingHandler> auditingHandler) {
+        BulkAuditingEntityListener listener = new BulkAuditingEntityListener();
+        listener.setAuditingHandler(auditingHandler);
+        return listener;
+    }
+
+}
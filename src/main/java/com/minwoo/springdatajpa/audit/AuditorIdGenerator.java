@@ -0,0 +1,9 @@
+package com.minwoo.springdatajpa.audit;
+
+// 로그인 사용자가 없을 때 createdBy/updatedBy에 넣을 id
+@FunctionalInterface
+public interface AuditorIdGenerator {
+
+    String nextId();
+
+}
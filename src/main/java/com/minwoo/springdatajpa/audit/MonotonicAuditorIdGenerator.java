@@ -0,0 +1,18 @@
+package com.minwoo.springdatajpa.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// UUID.randomUUID()는 호출마다 SecureRandom을 거쳐서 동시 쓰기가 많으면 경합이 생김
+// -> 현재 시각(ms) << 16 + 순번으로 증가하는 id(같은 ms 안에서 65536개까지, 넘으면 다음 ms 값을 당겨씀)
+public class MonotonicAuditorIdGenerator implements AuditorIdGenerator {
+
+    private final AtomicLong last = new AtomicLong();
+
+    @Override
+    public String nextId() {
+        long candidate = System.currentTimeMillis() << 16;
+        long next = last.accumulateAndGet(candidate, (previous, now) -> Math.max(previous + 1, now));
+        return Long.toString(next, Character.MAX_RADIX);
+    }
+
+}
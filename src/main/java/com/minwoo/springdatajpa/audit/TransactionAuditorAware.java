@@ -0,0 +1,69 @@
+package com.minwoo.springdatajpa.audit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.security.Principal;
+import java.util.Optional;
+
+// insert/update 마다 호출되지만 auditor는 transaction 안에서 한 번만 구함
+// 요청에 로그인 사용자(principal)가 있으면 그 이름, 없으면 generator로 만든 id
+public class TransactionAuditorAware implements AuditorAware<String> {
+
+    private static final Object TRANSACTION_KEY = TransactionAuditorAware.class.getName() + ".AUDITOR";
+
+    private final AuditorIdGenerator generator;
+
+    public TransactionAuditorAware(AuditorIdGenerator generator) {
+        this.generator = generator;
+    }
+
+    @Override
+    public Optional<String> getCurrentAuditor() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return Optional.of(resolve());
+        }
+
+        String auditor = (String) TransactionSynchronizationManager.getResource(TRANSACTION_KEY);
+        if (auditor == null) {
+            String resolved = resolve();
+            TransactionSynchronizationManager.bindResource(TRANSACTION_KEY, resolved);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void suspend() {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_KEY);
+                }
+
+                @Override
+                public void resume() {
+                    TransactionSynchronizationManager.bindResource(TRANSACTION_KEY, resolved);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_KEY);
+                }
+            });
+            auditor = resolved;
+        }
+        return Optional.of(auditor);
+    }
+
+    private String resolve() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            Principal principal = request.getUserPrincipal();
+            if (principal != null) {
+                return principal.getName();
+            }
+        }
+        return generator.nextId();
+    }
+
+}
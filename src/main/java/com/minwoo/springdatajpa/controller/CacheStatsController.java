@@ -0,0 +1,62 @@
+package com.minwoo.springdatajpa.controller;
+
+import com.minwoo.springdatajpa.dto.CacheRegionStatsDto;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// 2차 cache region별 hit/miss/put(hibernate 통계) + eviction(caffeine jcache 통계)
+@RestController
+@RequiredArgsConstructor
+public class CacheStatsController {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @GetMapping("/cache/stats")
+    public List<CacheRegionStatsDto> stats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<CacheRegionStatsDto> result = new ArrayList<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            result.add(new CacheRegionStatsDto(region,
+                                               regionStatistics.getHitCount(),
+                                               regionStatistics.getMissCount(),
+                                               regionStatistics.getPutCount(),
+                                               evictionCount(region),
+                                               regionStatistics.getElementCountInMemory()));
+        }
+        return result;
+    }
+
+    // application.conf의 monitoring.statistics = true 일 때 jcache가 등록하는 mbean에서 조회
+    private long evictionCount(String region) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            Set<ObjectName> names = server.queryNames(new ObjectName("javax.cache:type=CacheStatistics,Cache=" + region + ",*"), null);
+            long evictions = 0;
+            for (ObjectName name : names) {
+                evictions += (Long) server.getAttribute(name, "CacheEvictions");
+            }
+            return evictions;
+        } catch (JMException e) {
+            return -1;
+        }
+    }
+
+}
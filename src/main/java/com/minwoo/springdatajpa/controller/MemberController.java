@@ -1,22 +1,30 @@
 package com.minwoo.springdatajpa.controller;
 
+import com.minwoo.springdatajpa.dto.MemberCursor;
 import com.minwoo.springdatajpa.dto.MemberDto;
+import com.minwoo.springdatajpa.dto.MemberWindowDto;
 import com.minwoo.springdatajpa.entity.Member;
 import com.minwoo.springdatajpa.repository.MemberRepository;
-import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
+    private static final int MAX_KEYSET_SIZE = 2000; // pageable max-page-size와 동일
+
     private final MemberRepository memberRepository;
 
     @GetMapping("/members/{id}")
@@ -38,11 +46,27 @@ public class MemberController {
         return memberRepository.findAll(memberPageable).map(MemberDto::new); // m -> new MemberDto(m)
     }
 
-    @PostConstruct
-    public void init() {
-        for (int i = 0; i < 30; i++) {
-            memberRepository.save(new Member("member" + i, i));
+    // /members?keyset=id&size=10&cursor=... (keyset=username 이면 username, id 순서)
+    // offset, count query 없이 응답의 nextCursor로 다음 window 조회
+    @GetMapping(value = "/members", params = "keyset")
+    public MemberWindowDto listByKeyset(@RequestParam("keyset") String keyset,
+                                        @RequestParam(value = "cursor", required = false) String cursor,
+                                        @RequestParam(value = "size", defaultValue = "5") int size) {
+        boolean byUsername = MemberCursor.USERNAME.equals(keyset);
+        KeysetScrollPosition position;
+        try {
+            position = MemberCursor.decode(cursor, byUsername ? MemberCursor.USERNAME : MemberCursor.ID);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
         }
+        int limit = Math.max(1, Math.min(size, MAX_KEYSET_SIZE));
+
+        Window<Member> window = byUsername
+                ? memberRepository.scrollByUsername(position, limit)
+                : memberRepository.scrollById(position, limit);
+
+        String nextCursor = window.hasNext() ? MemberCursor.encode(window.positionAt(window.size() - 1)) : null;
+        return new MemberWindowDto(window.map(MemberDto::new).getContent(), nextCursor, window.hasNext());
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.minwoo.springdatajpa.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minwoo.springdatajpa.dto.MemberDto;
+import com.minwoo.springdatajpa.repository.MemberRepository;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+
+// 전체 member를 NDJSON(한 줄에 json 하나)으로 내려줌
+// List로 모으지 않고 cursor에서 읽은 row를 바로 response에 써서 건수와 상관없이 heap 사용량이 일정함
+@RestController
+public class MemberExportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final MemberRepository memberRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public MemberExportController(MemberRepository memberRepository, ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.memberRepository = memberRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @GetMapping("/members/export")
+    public ResponseEntity<StreamingResponseBody> export() {
+        // StreamingResponseBody는 별도 thread에서 실행 -> Stream 조회에 필요한 transaction을 그 안에서 시작
+        StreamingResponseBody body = out -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<MemberDto> members = memberRepository.streamMemberDto()) {
+                members.forEach(member -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(member));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        });
+
+        return ResponseEntity.ok()
+                             .contentType(NDJSON)
+                             .body(body);
+    }
+
+}
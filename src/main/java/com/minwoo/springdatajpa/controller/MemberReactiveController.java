@@ -0,0 +1,53 @@
+package com.minwoo.springdatajpa.controller;
+
+import com.minwoo.springdatajpa.dto.MemberDto;
+import com.minwoo.springdatajpa.reactive.MemberReactiveRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// /members 조회의 r2dbc 버전(app.reactive.enabled=true)
+// Mono/Flux를 반환하면 servlet thread는 바로 반환되고, 목록은 NDJSON으로 client가 읽는 속도에 맞춰 한 건씩 씀
+// 느린 client나 큰 결과여도 tomcat thread / hikari connection을 잡고 있지 않음
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+public class MemberReactiveController {
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int MAX_SIZE = 2000; // pageable max-page-size와 동일
+
+    private final MemberReactiveRepository memberReactiveRepository;
+
+    @GetMapping("/reactive/members/{id}")
+    public Mono<ResponseEntity<MemberDto>> findMember(@PathVariable("id") Long id) {
+        return memberReactiveRepository.findDtoById(id)
+                                       .map(ResponseEntity::ok)
+                                       .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/reactive/members", params = "username", produces = NDJSON)
+    public Flux<MemberDto> findByUsername(@RequestParam("username") String username) {
+        return memberReactiveRepository.findDtoByUsername(username);
+    }
+
+    // /reactive/members?after=100&size=50 - 마지막 id를 다음 요청의 after로
+    @GetMapping(value = "/reactive/members", produces = NDJSON)
+    public Flux<MemberDto> list(@RequestParam(value = "after", required = false) Long after,
+                                @RequestParam(value = "size", defaultValue = "15") int size) {
+        return memberReactiveRepository.findDtoAfter(after, Math.max(1, Math.min(size, MAX_SIZE)));
+    }
+
+    // 전체 - /members/export와 같은 NDJSON이지만 별도 thread가 cursor를 붙잡고 있지 않음
+    @GetMapping(value = "/reactive/members/export", produces = NDJSON)
+    public Flux<MemberDto> export() {
+        return memberReactiveRepository.findAllDto();
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.minwoo.springdatajpa.controller;
+
+import com.minwoo.springdatajpa.dto.QueryPlanStatsDto;
+import com.minwoo.springdatajpa.dto.QueryWarmupResultDto;
+import com.minwoo.springdatajpa.repository.QueryWarmup;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.spi.QueryInterpretationCache;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+// hibernate query plan cache(hql parse / sql 변환 결과) hit rate와 크기
+// miss가 계속 늘면 jpql 문자열이 매번 달라지거나(값을 직접 이어 붙임, in 절 크기) cache가 작은 것
+@RestController
+@RequiredArgsConstructor
+public class QueryPlanStatsController {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectProvider<QueryWarmup> queryWarmup;
+
+    @Value("${spring.jpa.properties.hibernate.query.plan_cache_max_size:2048}")
+    private int maxSize;
+
+    @GetMapping("/query-plan/stats")
+    public QueryPlanStatsDto stats() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Statistics statistics = sessionFactory.getStatistics();
+        QueryInterpretationCache cache = sessionFactory.getQueryEngine().getInterpretationCache();
+
+        List<QueryWarmupResultDto> warmup = queryWarmup.stream()
+                                                       .findFirst()
+                                                       .map(QueryWarmup::getResults)
+                                                       .orElse(List.of());
+
+        return new QueryPlanStatsDto(statistics.getQueryPlanCacheHitCount(),
+                                     statistics.getQueryPlanCacheMissCount(),
+                                     cache.getNumberOfCachedHqlInterpretations(),
+                                     cache.getNumberOfCachedQueryPlans(),
+                                     maxSize,
+                                     warmup);
+    }
+
+}
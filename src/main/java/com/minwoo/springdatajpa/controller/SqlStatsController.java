@@ -0,0 +1,25 @@
+package com.minwoo.springdatajpa.controller;
+
+import com.minwoo.springdatajpa.dto.SqlShapeStatsDto;
+import com.minwoo.springdatajpa.sql.AsyncSqlLogger;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+// 쿼리 모양별 실행 횟수 / 총 시간 / p99 (app.sql-log.enabled=true 일 때만)
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.sql-log", name = "enabled", havingValue = "true")
+public class SqlStatsController {
+
+    private final AsyncSqlLogger asyncSqlLogger;
+
+    @GetMapping("/sql/stats")
+    public List<SqlShapeStatsDto> stats() {
+        return asyncSqlLogger.getStats();
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.minwoo.springdatajpa.controller;
+
+import com.minwoo.springdatajpa.dto.VirtualThreadStatsDto;
+import com.minwoo.springdatajpa.virtualthread.ConnectionAdmissionDataSource;
+import com.minwoo.springdatajpa.virtualthread.PinnedThreadMonitor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Map;
+
+// connection admission 대기 / pinning 원인별 횟수 (virtual thread 모드일 때만)
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadStatsController {
+
+    private final DataSource dataSource;
+    private final ObjectProvider<PinnedThreadMonitor> pinnedThreadMonitor;
+
+    @GetMapping("/virtual-threads/stats")
+    public VirtualThreadStatsDto stats() throws SQLException {
+        Map<String, Long> pinned = pinnedThreadMonitor.stream().findFirst().map(PinnedThreadMonitor::getCounts).orElse(Map.of());
+        if (!dataSource.isWrapperFor(ConnectionAdmissionDataSource.class)) {
+            return new VirtualThreadStatsDto(null, null, pinned);
+        }
+        ConnectionAdmissionDataSource admission = dataSource.unwrap(ConnectionAdmissionDataSource.class);
+        return new VirtualThreadStatsDto(admission.getAvailablePermits(), admission.getQueueLength(), pinned);
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.minwoo.springdatajpa.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReplicaProperties {
+
+    private boolean enabled;
+
+    private List<Node> nodes = new ArrayList<>();
+
+    // 복제 지연이 이 값보다 크면 primary로 보냄(0이면 지연 확인 안 함)
+    private Duration maxLag = Duration.ZERO;
+
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+    @Getter
+    @Setter
+    public static class Node {
+
+        private String url;
+        private String username;
+        private String password;
+
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.minwoo.springdatajpa.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+// app.datasource.replica.enabled=true 일 때만 동작 / 호출하는 코드는 그대로 두고 readOnly transaction만 replica로 보냄
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(DataSourceProperties primaryProperties, ReplicaProperties replicaProperties) {
+        DataSource primary = primaryProperties.initializeDataSourceBuilder()
+                                              .type(HikariDataSource.class)
+                                              .build();
+
+        List<DataSource> replicas = replicaProperties.getNodes().stream()
+                                                     .map(node -> (DataSource) DataSourceBuilder.create()
+                                                                                                .type(HikariDataSource.class)
+                                                                                                .driverClassName(primaryProperties.determineDriverClassName())
+                                                                                                .url(node.getUrl())
+                                                                                                .username(node.getUsername())
+                                                                                                .password(node.getPassword())
+                                                                                                .build())
+                                                     .toList();
+
+        return new ReplicaRoutingDataSource(primary, replicas, replicaProperties.getMaxLag(), replicaProperties.getLagCheckInterval());
+    }
+
+    // transaction 시작 시점이 아니라 첫 쿼리 시점에 connection을 얻어야 readOnly 여부로 routing 가능
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    // 기본값(connection을 session 끝까지 보유)이면 open-in-view에서 replica connection으로 이후 write가 나갈 수 있음
+    // -> transaction이 끝나면 connection을 반납하고 다음 transaction에서 다시 routing
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandlingCustomizer() {
+        return properties -> properties.put("hibernate.connection.handling_mode", "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+
+}
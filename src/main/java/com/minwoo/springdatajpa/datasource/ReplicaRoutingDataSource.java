@@ -0,0 +1,141 @@
+package com.minwoo.springdatajpa.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+// @Transactional(readOnly = true) 안의 쿼리는 replica로, 나머지는 primary로 보냄
+// connection을 얻는 시점에 readOnly 여부가 정해져 있어야 하므로 LazyConnectionDataSourceProxy로 감싸서 사용
+// replica가 모두 사용 불가(지연 초과, 연결 실패)면 primary로 보냄
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagSeconds;
+    private final long lagCheckIntervalNanos;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration maxLag, Duration lagCheckInterval) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLagSeconds = maxLag.toSeconds();
+        this.lagCheckIntervalNanos = lagCheckInterval.toNanos();
+        setTargets(UnaryOperator.identity());
+    }
+
+    // pool(primary, replica)마다 감쌈(ConnectionAdmissionDataSource 등) - 초기화 후에 호출해도 다시 resolve
+    // 지연 확인은 감싸기 전 pool로 실행
+    public void decorateTargets(UnaryOperator<DataSource> decorator) {
+        setTargets(decorator);
+        afterPropertiesSet();
+    }
+
+    private void setTargets(UnaryOperator<DataSource> decorator) {
+        DataSource decoratedPrimary = decorator.apply(primary);
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, decoratedPrimary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(replicaKey(i), decorator.apply(replicas.get(i).dataSource));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(decoratedPrimary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || replicas.isEmpty()) {
+            return PRIMARY;
+        }
+
+        // round robin - 사용 불가한 replica는 건너뜀
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            int index = (start + i) % replicas.size();
+            if (isAvailable(replicas.get(index))) {
+                return replicaKey(index);
+            }
+        }
+        return PRIMARY;
+    }
+
+    // lagCheckInterval마다 한 thread만 확인하고 나머지는 마지막 결과를 사용
+    private boolean isAvailable(Replica replica) {
+        long now = System.nanoTime();
+        if (now - replica.checkedAt >= lagCheckIntervalNanos && replica.checking.compareAndSet(false, true)) {
+            try {
+                replica.available = check(replica.dataSource);
+                replica.checkedAt = now;
+            } finally {
+                replica.checking.set(false);
+            }
+        }
+        return replica.available;
+    }
+
+    private boolean check(DataSource dataSource) {
+        if (maxLagSeconds <= 0) {
+            return true;
+        }
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+            if (!rs.next()) {
+                return false;
+            }
+            long lag = rs.getLong("Seconds_Behind_Source");
+            return !rs.wasNull() && lag <= maxLagSeconds; // null -> 복제 중단 상태
+        } catch (SQLException e) {
+            log.warn("replica lag check failed - routing to primary", e);
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        close(primary);
+        replicas.forEach(replica -> close(replica.dataSource));
+    }
+
+    private static void close(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            hikari.close();
+        }
+    }
+
+    private static String replicaKey(int index) {
+        return "replica-" + index;
+    }
+
+    private static class Replica {
+
+        private final DataSource dataSource;
+        private final AtomicBoolean checking = new AtomicBoolean();
+        private volatile boolean available = true;
+        private volatile long checkedAt = System.nanoTime() - Long.MAX_VALUE / 2;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+    }
+
+}
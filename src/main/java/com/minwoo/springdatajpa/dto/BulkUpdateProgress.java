@@ -0,0 +1,19 @@
+package com.minwoo.springdatajpa.dto;
+
+import lombok.Data;
+
+// chunk 하나가 끝날 때마다 전달 / 중단되면 nextId부터 다시 실행
+@Data
+public class BulkUpdateProgress {
+
+    private long nextId;
+    private long maxId;
+    private int updatedRows; // 지금까지 누적
+
+    public BulkUpdateProgress(long nextId, long maxId, int updatedRows) {
+        this.nextId = nextId;
+        this.maxId = maxId;
+        this.updatedRows = updatedRows;
+    }
+
+}
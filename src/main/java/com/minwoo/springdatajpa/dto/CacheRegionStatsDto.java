@@ -0,0 +1,24 @@
+package com.minwoo.springdatajpa.dto;
+
+import lombok.Data;
+
+@Data
+public class CacheRegionStatsDto {
+
+    private String region;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private long evictionCount; // size/ttl로 밀려난 수(jcache 통계)
+    private long elementCount;
+
+    public CacheRegionStatsDto(String region, long hitCount, long missCount, long putCount, long evictionCount, long elementCount) {
+        this.region = region;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        this.evictionCount = evictionCount;
+        this.elementCount = elementCount;
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.minwoo.springdatajpa.dto;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// keyset 위치(id, username)를 client가 그대로 되돌려주는 불투명한 문자열로 변환
+// "id:{id}" 또는 "username:{id}[:{username}]"(username이 null이면 생략) 형태를 base64(url-safe)로 감쌈
+// keyset 종류를 담아서 다른 종류의 cursor로 조회하면 거부(id cursor로 keyset=username 조회 등)
+public final class MemberCursor {
+
+    public static final String ID = "id";
+    public static final String USERNAME = "username";
+
+    private MemberCursor() {
+    }
+
+    public static String encode(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset) || keyset.isInitial()) {
+            return null;
+        }
+
+        Map<String, Object> keys = keyset.getKeys();
+        String value;
+        if (keys.containsKey(USERNAME)) {
+            value = USERNAME + ":" + keys.get("id") + (keys.get(USERNAME) == null ? "" : ":" + keys.get(USERNAME));
+        } else {
+            value = ID + ":" + keys.get("id");
+        }
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // keyset: ID / USERNAME - cursor가 다른 keyset으로 만들어졌으면 IllegalArgumentException
+    public static KeysetScrollPosition decode(String cursor, String keyset) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        String value;
+        try {
+            value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("invalid cursor: " + cursor, e);
+        }
+
+        String[] parts = value.split(":", 3);
+        if (parts.length < 2 || !parts[0].equals(keyset) || (ID.equals(keyset) && parts.length > 2)) {
+            throw new IllegalArgumentException("cursor is not a " + keyset + " cursor: " + cursor);
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        if (USERNAME.equals(keyset)) {
+            keys.put(USERNAME, parts.length > 2 ? parts[2] : null);
+        }
+        try {
+            keys.put("id", Long.valueOf(parts[1]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid cursor: " + cursor, e);
+        }
+
+        return ScrollPosition.forward(keys);
+    }
+
+}
@@ -19,7 +19,7 @@ public class MemberDto {
     public MemberDto(Member member) {
         this.id = member.getId();
         this.username = member.getUsername();
-        this.teamName = member.getTeam().getName();
+        this.teamName = member.getTeam() != null ? member.getTeam().getName() : null;
     }
 
 }
@@ -0,0 +1,21 @@
+package com.minwoo.springdatajpa.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+// Page와 달리 totalCount 없이 다음 cursor만 내려줌
+@Data
+public class MemberWindowDto {
+
+    private List<MemberDto> content;
+    private String nextCursor;
+    private boolean hasNext;
+
+    public MemberWindowDto(List<MemberDto> content, String nextCursor, boolean hasNext) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.minwoo.springdatajpa.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class QueryPlanStatsDto {
+
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private int hqlInterpretations; // cache된 hql parse 결과 수
+    private int queryPlans; // cache된 sql 변환 결과 수
+    private int maxSize; // hibernate.query.plan_cache_max_size - 넘으면 오래된 것부터 버리고 다시 parse
+    private List<QueryWarmupResultDto> warmup; // 기동 시 warm-up 결과(꺼져 있으면 빈 목록)
+
+    public QueryPlanStatsDto(long hitCount, long missCount, int hqlInterpretations, int queryPlans, int maxSize,
+                             List<QueryWarmupResultDto> warmup) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.hitRate = hitCount + missCount == 0 ? 0 : (double) hitCount / (hitCount + missCount);
+        this.hqlInterpretations = hqlInterpretations;
+        this.queryPlans = queryPlans;
+        this.maxSize = maxSize;
+        this.warmup = warmup;
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.minwoo.springdatajpa.dto;
+
+import lombok.Data;
+
+@Data
+public class QueryWarmupResultDto {
+
+    private String source; // repository method / named query / *JpaRepository
+    private String jpql;
+    private long compileMicros; // hql parse(sqm 변환) 시간 - 이미 cache에 있으면 거의 0
+
+    public QueryWarmupResultDto(String source, String jpql, long compileMicros) {
+        this.source = source;
+        this.jpql = jpql;
+        this.compileMicros = compileMicros;
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.minwoo.springdatajpa.dto;
+
+import lombok.Data;
+
+@Data
+public class SqlShapeStatsDto {
+
+    private String sql;
+    private long count;
+    private long failed;
+    private double totalMillis;
+    private double p99Millis;
+
+    public SqlShapeStatsDto(String sql, long count, long failed, double totalMillis, double p99Millis) {
+        this.sql = sql;
+        this.count = count;
+        this.failed = failed;
+        this.totalMillis = totalMillis;
+        this.p99Millis = p99Millis;
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.minwoo.springdatajpa.dto;
+
+import lombok.Data;
+
+@Data
+public class TeamMemberCountDto {
+
+    private Long id;
+    private String name;
+    private long memberCount;
+
+    public TeamMemberCountDto(Long id, String name, long memberCount) {
+        this.id = id;
+        this.name = name;
+        this.memberCount = memberCount;
+    }
+
+}
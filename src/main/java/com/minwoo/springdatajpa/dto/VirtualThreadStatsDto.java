@@ -0,0 +1,20 @@
+package com.minwoo.springdatajpa.dto;
+
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class VirtualThreadStatsDto {
+
+    private Integer availablePermits; // connection admission을 쓰지 않으면 null
+    private Integer waiting;
+    private Map<String, Long> pinned; // 원인 frame -> pinning 횟수
+
+    public VirtualThreadStatsDto(Integer availablePermits, Integer waiting, Map<String, Long> pinned) {
+        this.availablePermits = availablePermits;
+        this.waiting = waiting;
+        this.pinned = pinned;
+    }
+
+}
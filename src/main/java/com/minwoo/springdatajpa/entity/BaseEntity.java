@@ -6,11 +6,10 @@ import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
 import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners(BulkAuditingEntityListener.class)
 @MappedSuperclass
 @Getter
 public class BaseEntity extends BaseTimeEntity{
@@ -22,4 +21,17 @@ public class BaseEntity extends BaseTimeEntity{
     @LastModifiedBy
     private String updatedBy;
 
+    @Override
+    void auditCreate(LocalDateTime now, String auditor) {
+        super.auditCreate(now, auditor);
+        createdBy = auditor;
+        updatedBy = auditor;
+    }
+
+    @Override
+    void auditUpdate(LocalDateTime now, String auditor) {
+        super.auditUpdate(now, auditor);
+        updatedBy = auditor;
+    }
+
 }
\ No newline at end of file
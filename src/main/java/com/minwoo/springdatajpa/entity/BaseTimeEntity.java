@@ -8,11 +8,10 @@ import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedBy;
 import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners(BulkAuditingEntityListener.class)
 @MappedSuperclass
 @Getter
 public class BaseTimeEntity {
@@ -24,4 +23,14 @@ public class BaseTimeEntity {
     @LastModifiedDate
     private LocalDateTime updatedDate;
 
+    // BulkAuditing 구간에서 listener가 직접 호출
+    void auditCreate(LocalDateTime now, String auditor) {
+        createdDate = now;
+        updatedDate = now;
+    }
+
+    void auditUpdate(LocalDateTime now, String auditor) {
+        updatedDate = now;
+    }
+
 }
\ No newline at end of file
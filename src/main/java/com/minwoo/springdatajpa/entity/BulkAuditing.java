@@ -0,0 +1,49 @@
+package com.minwoo.springdatajpa.entity;
+
+import java.time.LocalDateTime;
+
+// 대량 insert 구간 - entity마다 AuditingHandler(reflection + auditor 조회 + 현재 시각)를 거치지 않고
+// 구간을 시작할 때 한 번 구한 시각과 auditor를 그대로 채움(BulkAuditingEntityListener)
+// try (BulkAuditing auditing = BulkAuditing.begin(auditor)) { ... persist ... }
+public final class BulkAuditing implements AutoCloseable {
+
+    private static final ThreadLocal<BulkAuditing> CURRENT = new ThreadLocal<>();
+
+    private final LocalDateTime now;
+    private final String auditor;
+    private final BulkAuditing previous;
+
+    private BulkAuditing(LocalDateTime now, String auditor, BulkAuditing previous) {
+        this.now = now;
+        this.auditor = auditor;
+        this.previous = previous;
+    }
+
+    public static BulkAuditing begin(String auditor) {
+        BulkAuditing auditing = new BulkAuditing(LocalDateTime.now(), auditor, CURRENT.get());
+        CURRENT.set(auditing);
+        return auditing;
+    }
+
+    static BulkAuditing current() {
+        return CURRENT.get();
+    }
+
+    LocalDateTime now() {
+        return now;
+    }
+
+    String auditor() {
+        return auditor;
+    }
+
+    @Override
+    public void close() {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.minwoo.springdatajpa.entity;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+// 평소에는 AuditingEntityListener와 같고, BulkAuditing 구간에서만 값을 직접 채움
+// spring bean으로 등록해야 auditingHandler가 주입됨(AuditConfig)
+public class BulkAuditingEntityListener extends AuditingEntityListener {
+
+    @Override
+    @PrePersist
+    public void touchForCreate(Object target) {
+        BulkAuditing bulk = BulkAuditing.current();
+        if (bulk == null) {
+            super.touchForCreate(target);
+            return;
+        }
+
+        if (target instanceof BaseTimeEntity entity) {
+            entity.auditCreate(bulk.now(), bulk.auditor());
+        } else if (target instanceof Item item) {
+            item.auditCreate(bulk.now());
+        } else {
+            super.touchForCreate(target);
+        }
+    }
+
+    @Override
+    @PreUpdate
+    public void touchForUpdate(Object target) {
+        BulkAuditing bulk = BulkAuditing.current();
+        if (bulk != null && target instanceof BaseTimeEntity entity) {
+            entity.auditUpdate(bulk.now(), bulk.auditor());
+            return;
+        }
+        super.touchForUpdate(target);
+    }
+
+}
@@ -7,12 +7,12 @@ import lombok.NoArgsConstructor;
 import org.springframework.boot.autoconfigure.web.WebProperties;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.domain.Persistable;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 
 @Entity
-@EntityListeners(AuditingEntityListener.class)
+@Table(indexes = @Index(name = "idx_item_status_id", columnList = "status, id")) // READY를 id 순으로 claim할 때 index 순서대로 lock
+@EntityListeners(BulkAuditingEntityListener.class)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Item implements Persistable<String> {
 
@@ -25,15 +25,27 @@ public class Item implements Persistable<String> {
     @CreatedDate
     private LocalDateTime createdDate;
 
+    @Enumerated(EnumType.STRING)
+    private ItemStatus status = ItemStatus.READY;
+    private LocalDateTime processedDate;
+
     public Item(String id) {
         this.id = id;
     }
 
+    void auditCreate(LocalDateTime now) {
+        createdDate = now;
+    }
+
     @Override
     public String getId() {
         return id;
     }
 
+    public ItemStatus getStatus() {
+        return status;
+    }
+
     @Override
     public boolean isNew() {
         return createdDate == null;
@@ -0,0 +1,6 @@
+package com.minwoo.springdatajpa.entity;
+
+// item을 작업 queue로 쓸 때 상태(처리 중은 따로 두지 않고 row lock으로 표시)
+public enum ItemStatus {
+    READY, DONE
+}
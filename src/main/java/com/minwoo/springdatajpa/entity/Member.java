@@ -2,20 +2,30 @@ package com.minwoo.springdatajpa.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import static jakarta.persistence.FetchType.*;
 import static lombok.AccessLevel.*;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_member_username", columnList = "username"), // username 조회, in 조회, (username, id) keyset
+        @Index(name = "idx_member_age_username", columnList = "age, username") // where age = ? order by username desc(, id desc)
+})
 @Getter
 @Setter
 @NoArgsConstructor(access = PROTECTED)
 @ToString(exclude = "team")
 @NamedQuery( // 실무에서는 그냥 repository에 바로 쿼리 작성(@Query)이 추천됨
         name = "Member.findByUsername",
-        query = "select m from Member m where m.username = :username"
+        query = "select m from Member m where m.username = :username",
+        hints = @QueryHint(name = "org.hibernate.cacheable", value = "true") // query cache(결과 id) + entity cache
 )
 @NamedEntityGraph(name = "Member.all", attributeNodes = @NamedAttributeNode("team"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Member extends BaseEntity {
 
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -24,6 +34,11 @@ public class Member extends BaseEntity {
     private String username;
     private int age;
 
+    // 낙관적 lock - update 시 where version = ? 로 충돌 확인(PESSIMISTIC_WRITE처럼 row lock을 잡고 기다리지 않음)
+    @Version
+    @Setter(NONE)
+    private Long version;
+
     @ManyToOne(fetch = LAZY)
     @JoinColumn(name = "team_id")
     private Team team;
@@ -45,9 +60,18 @@ public class Member extends BaseEntity {
         }
     }
 
+    // 반대편 memberList는 이미 초기화된 경우만 맞춤 - 초기화 안 된 collection은 나중에 로딩할 때 db 값에 포함되므로 건드리지 않음(team 크기만큼 로딩하지 않음)
     public void changeTeam(Team team) {
+        if (this.team == team) {
+            return;
+        }
+        if (this.team != null && Hibernate.isInitialized(this.team) && Hibernate.isInitialized(this.team.getMemberList())) {
+            this.team.getMemberList().remove(this);
+        }
         this.team = team;
-        team.getMemberList().add(this);
+        if (team != null && Hibernate.isInitialized(team) && Hibernate.isInitialized(team.getMemberList())) {
+            team.getMemberList().add(this);
+        }
     }
 
 }
\ No newline at end of file
@@ -2,11 +2,14 @@ package com.minwoo.springdatajpa.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 import static jakarta.persistence.GenerationType.*;
+import static lombok.AccessLevel.NONE;
 import static lombok.AccessLevel.PROTECTED;
 
 @Entity
@@ -14,6 +17,8 @@ import static lombok.AccessLevel.PROTECTED;
 @Setter
 @NoArgsConstructor(access = PROTECTED)
 @ToString(exclude = "memberList")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // 거의 변하지 않아 member.getTeam() 조회를 2차 cache에서 처리
 public class Team {
 
     @Id @GeneratedValue(strategy = IDENTITY)
@@ -21,6 +26,16 @@ public class Team {
     private Long id;
     private String name;
 
+    @Version
+    @Setter(NONE)
+    private Long version;
+
+    // member 수 - TeamMemberCounter가 update team set member_count = member_count + ? 로만 바꿈(entity 값으로 update 하지 않음)
+    // 같은 transaction 안에서 member를 바꾼 직후에는 반영 전 값
+    @Column(nullable = false, updatable = false)
+    @Setter(NONE)
+    private long memberCount;
+
     @OneToMany(mappedBy = "team")
     private List<Member> memberList = new ArrayList<>();
 
@@ -0,0 +1,27 @@
+package com.minwoo.springdatajpa.membercount;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+@Configuration
+public class TeamMemberCountConfig {
+
+    @Bean
+    public TeamMemberCounter teamMemberCounter(ObjectProvider<EntityManagerFactory> entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        return new TeamMemberCounter(entityManagerFactory, jdbcTemplate);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer teamMemberCountCustomizer(TeamMemberCounter counter) {
+        TeamMemberCountIntegrator integrator = new TeamMemberCountIntegrator(new TeamMemberCountListener(counter));
+        return properties -> properties.put("hibernate.integrator_provider", (IntegratorProvider) () -> List.of(integrator));
+    }
+
+}
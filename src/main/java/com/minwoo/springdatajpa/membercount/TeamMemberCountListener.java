@@ -0,0 +1,66 @@
+package com.minwoo.springdatajpa.membercount;
+
+import com.minwoo.springdatajpa.entity.Member;
+import com.minwoo.springdatajpa.entity.Team;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.util.Objects;
+
+// Member insert / team 변경(changeTeam) / delete를 flush 시점에 감지해서 TeamMemberCounter에 delta 기록
+// update는 이전 값(old state)과 비교하므로 영속 상태에서 바꾼 경우(merge 포함)만 감지됨
+class TeamMemberCountListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final TeamMemberCounter counter;
+
+    TeamMemberCountListener(TeamMemberCounter counter) {
+        this.counter = counter;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member) {
+            counter.add(event.getSession(), teamId(event.getPersister(), event.getState()), 1);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Member) || event.getOldState() == null) {
+            return;
+        }
+        Long oldTeamId = teamId(event.getPersister(), event.getOldState());
+        Long newTeamId = teamId(event.getPersister(), event.getState());
+        if (!Objects.equals(oldTeamId, newTeamId)) {
+            counter.add(event.getSession(), oldTeamId, -1);
+            counter.add(event.getSession(), newTeamId, 1);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member) {
+            counter.add(event.getSession(), teamId(event.getPersister(), event.getDeletedState()), -1);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    // proxy여도 getId()는 초기화하지 않음
+    private static Long teamId(EntityPersister persister, Object[] state) {
+        if (state == null) {
+            return null;
+        }
+        Object team = state[persister.getEntityMetamodel().getPropertyIndex("team")];
+        return team instanceof Team t ? t.getId() : null;
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.minwoo.springdatajpa.membercount;
+
+import com.minwoo.springdatajpa.entity.Team;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// member_count를 실제 member 수와 맞춤 - delta를 남기지 않는 경로(StatelessSession update로 team 변경, 직접 sql 등)나 장애 대비
+// team id 범위 chunk마다 그 범위의 member만 group by 해서 다른 team만 update(chunk마다 짧게 commit)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TeamMemberCountReconciler {
+
+    private static final String RECONCILE =
+            "update team t left join (select team_id, count(*) as cnt from member where team_id >= ? and team_id < ? group by team_id) m" +
+            " on m.team_id = t.team_id" +
+            " set t.member_count = coalesce(m.cnt, 0)" +
+            " where t.team_id >= ? and t.team_id < ? and t.member_count <> coalesce(m.cnt, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${app.team.member-count.reconcile-chunk-size:1000}")
+    private int chunkSize;
+
+    @Scheduled(cron = "${app.team.member-count.reconcile-cron:-}")
+    public void scheduledReconcile() {
+        int fixed = reconcile();
+        if (fixed > 0) {
+            log.warn("team member_count reconciled - {} teams were out of sync", fixed);
+        }
+    }
+
+    // 고친 team 수 반환
+    public int reconcile() {
+        Long maxId = jdbcTemplate.queryForObject("select max(team_id) from team", Long.class);
+        if (maxId == null) {
+            return 0;
+        }
+
+        int fixed = 0;
+        for (long from = 0; from <= maxId; from += chunkSize) {
+            long to = from + chunkSize;
+            fixed += jdbcTemplate.update(RECONCILE, from, to, from, to);
+        }
+        if (fixed > 0) {
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictEntityData(Team.class);
+        }
+        return fixed;
+    }
+
+}
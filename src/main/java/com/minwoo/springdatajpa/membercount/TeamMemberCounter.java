@@ -0,0 +1,111 @@
+package com.minwoo.springdatajpa.membercount;
+
+import com.minwoo.springdatajpa.entity.Member;
+import com.minwoo.springdatajpa.entity.Team;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.spi.EventSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// Team.memberCount 유지 - team별 member 수 변경분(delta)을 session(transaction)마다 모았다가 commit 직전에 team당 update 한 번으로 반영
+// update team set member_count = member_count + ? -> 여러 transaction이 동시에 바꿔도 서로 덮어쓰지 않음
+// team id 순서로 update해서 transaction끼리 row lock 순서가 엇갈리지 않게 함(deadlock 방지)
+// Team은 2차 cache 대상이므로 commit 후 바뀐 team만 cache에서 비움
+public class TeamMemberCounter {
+
+    static final String UPDATE = "update team set member_count = member_count + ? where team_id = ?";
+
+    private final Map<EventSource, Map<Long, Long>> pending = new ConcurrentHashMap<>();
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory; // EntityManagerFactory 생성 시 이 객체가 필요해서 나중에 꺼냄
+    private final JdbcTemplate jdbcTemplate;
+
+    public TeamMemberCounter(ObjectProvider<EntityManagerFactory> entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // hibernate event(TeamMemberCountListener)에서 호출 - 같은 thread의 session이라 session별 map은 동기화 불필요
+    void add(EventSource session, Long teamId, long delta) {
+        if (teamId == null || delta == 0) {
+            return;
+        }
+        pending.computeIfAbsent(session, this::register).merge(teamId, delta, Long::sum);
+    }
+
+    // jdbc, StatelessSession처럼 hibernate event를 거치지 않는 경로(team id -> delta)
+    // 현재 transaction이 있으면 그 transaction에 합치고 없으면 바로 반영
+    public void addAll(Map<Long, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory.getObject());
+        if (em == null) {
+            List<Object[]> args = new ArrayList<>();
+            new TreeMap<>(deltas).forEach((teamId, delta) -> args.add(new Object[]{delta, teamId}));
+            jdbcTemplate.batchUpdate(UPDATE, args);
+            evict(deltas);
+            return;
+        }
+
+        EventSource session = em.unwrap(EventSource.class);
+        deltas.forEach((teamId, delta) -> add(session, teamId, delta));
+    }
+
+    // team이 있는 member를 team id별로 셈(addAll 인자)
+    public static Map<Long, Long> countByTeam(Collection<?> entities) {
+        return entities.stream()
+                       .filter(entity -> entity instanceof Member member && member.getTeam() != null)
+                       .collect(Collectors.groupingBy(entity -> ((Member) entity).getTeam().getId(), Collectors.counting()));
+    }
+
+    private Map<Long, Long> register(EventSource session) {
+        Map<Long, Long> deltas = new TreeMap<>();
+        session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) s -> apply(s, deltas));
+        session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, s) -> {
+            pending.remove(session);
+            if (success) {
+                evict(deltas);
+            }
+        });
+        return deltas;
+    }
+
+    // commit 시 flush(여기서 발생한 event까지 포함) 이후에 실행됨
+    private void apply(SessionImplementor session, Map<Long, Long> deltas) {
+        session.doWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(UPDATE)) {
+                for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+                    if (entry.getValue() == 0) {
+                        continue;
+                    }
+                    ps.setLong(1, entry.getValue());
+                    ps.setLong(2, entry.getKey());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        });
+    }
+
+    private void evict(Map<Long, Long> deltas) {
+        Cache cache = entityManagerFactory.getObject().unwrap(SessionFactory.class).getCache();
+        deltas.keySet().forEach(teamId -> cache.evictEntityData(Team.class, teamId));
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.minwoo.springdatajpa.reactive;
+
+import com.minwoo.springdatajpa.dto.MemberDto;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// MemberRepository의 조회 일부를 r2dbc로 - 결과를 List로 모으지 않고 row 단위로 흘려보냄(thread를 잡고 기다리지 않음)
+// 영속성 컨텍스트/2차 cache를 거치지 않으므로 entity가 아니라 MemberDto만 반환
+public class MemberReactiveRepository {
+
+    private static final String SELECT_DTO = "select m.member_id, m.username, t.name as team_name" +
+                                             " from member m left join team t on t.team_id = m.team_id";
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    public MemberReactiveRepository(DatabaseClient databaseClient, int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    public Mono<MemberDto> findDtoById(Long id) {
+        return databaseClient.sql(SELECT_DTO + " where m.member_id = :id")
+                             .bind("id", id)
+                             .map(MemberReactiveRepository::toDto)
+                             .one();
+    }
+
+    public Flux<MemberDto> findDtoByUsername(String username) {
+        return databaseClient.sql(SELECT_DTO + " where m.username = :username order by m.member_id")
+                             .bind("username", username)
+                             .map(MemberReactiveRepository::toDto)
+                             .all();
+    }
+
+    // id keyset - afterId가 null이면 처음부터 / limit 없이 끝까지 읽어도 subscriber가 요청한 만큼만 가져옴
+    public Flux<MemberDto> findDtoAfter(Long afterId, int limit) {
+        String sql = SELECT_DTO + (afterId == null ? "" : " where m.member_id > :afterId") + " order by m.member_id limit :limit";
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql).bind("limit", limit);
+        if (afterId != null) {
+            spec = spec.bind("afterId", afterId);
+        }
+        return spec.filter(statement -> statement.fetchSize(fetchSize))
+                   .map(MemberReactiveRepository::toDto)
+                   .all();
+    }
+
+    public Flux<MemberDto> findAllDto() {
+        return databaseClient.sql(SELECT_DTO + " order by m.member_id")
+                             .filter(statement -> statement.fetchSize(fetchSize))
+                             .map(MemberReactiveRepository::toDto)
+                             .all();
+    }
+
+    private static MemberDto toDto(Readable row) {
+        return new MemberDto(row.get("member_id", Long.class), row.get("username", String.class), row.get("team_name", String.class));
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.minwoo.springdatajpa.reactive;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+// app.reactive.enabled=true 일 때만 동작 / jpa(jdbc)와 별개의 r2dbc connection pool로 member 조회
+// ConnectionFactory를 bean으로 등록하면 DataSourceAutoConfiguration이 빠져서 jpa가 쓰는 DataSource가 없어짐 -> pool은 여기서만 보유
+@Configuration
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReactiveProperties.class)
+public class ReactiveConfig implements DisposableBean {
+
+    private final ReactiveProperties properties;
+    private final ConnectionPool connectionPool;
+
+    public ReactiveConfig(ReactiveProperties properties) {
+        this.properties = properties;
+
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(properties.getUrl())
+                                                                   .mutate()
+                                                                   .option(ConnectionFactoryOptions.USER, properties.getUsername())
+                                                                   .option(ConnectionFactoryOptions.PASSWORD, properties.getPassword())
+                                                                   .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                                                                            .name("reactive")
+                                                                            .initialSize(properties.getInitialPoolSize())
+                                                                            .maxSize(properties.getMaxPoolSize())
+                                                                            .maxIdleTime(properties.getMaxIdleTime())
+                                                                            .build());
+    }
+
+    @Bean
+    public MemberReactiveRepository memberReactiveRepository() {
+        return new MemberReactiveRepository(DatabaseClient.create(connectionPool), properties.getFetchSize());
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.minwoo.springdatajpa.reactive;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.reactive")
+public class ReactiveProperties {
+
+    private boolean enabled;
+
+    private String url;
+    private String username;
+    private String password;
+
+    // jdbc(hikari) pool과 별개 - 요청 thread 수가 아니라 동시에 실행 중인 query 수만큼만 필요
+    private int initialPoolSize = 2;
+    private int maxPoolSize = 10;
+    private Duration maxIdleTime = Duration.ofMinutes(30);
+
+    // driver가 한 번에 가져오는 row 수 - subscriber가 요청(request)한 만큼만 더 읽음
+    private int fetchSize = 256;
+
+}
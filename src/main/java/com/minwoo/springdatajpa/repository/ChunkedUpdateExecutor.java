@@ -0,0 +1,89 @@
+package com.minwoo.springdatajpa.repository;
+
+import com.minwoo.springdatajpa.dto.BulkUpdateProgress;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// update 한 번으로 전체 table을 바꾸면 끝날 때까지 row lock과 undo log가 쌓임
+// -> pk 범위를 chunkSize 단위로 나눠서 chunk마다 짧은 transaction(REQUIRES_NEW)으로 실행
+// 다른 transaction 안에서 호출하면 바깥에서 잡은 lock을 기다릴 수 있으므로 transaction 밖에서 호출
+@Slf4j
+@Component
+public class ChunkedUpdateExecutor {
+
+    private final EntityManager em;
+    private final TransactionTemplate chunkTransaction;
+
+    @Value("${app.bulk.update.chunk-size:10000}")
+    private int chunkSize;
+
+    @Value("${app.bulk.update.pause:0ms}")
+    private Duration pause; // chunk 사이 대기(다른 writer, replica 복제가 따라올 시간)
+
+    public ChunkedUpdateExecutor(EntityManager em, PlatformTransactionManager transactionManager) {
+        this.em = em;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // updateJpql은 where 절에 "e.id >= :fromId and e.id < :toId" 범위 조건을 포함해야 함
+    // 반환값은 전체 chunk의 변경 row 수 합계(한 번에 update 했을 때와 같은 값)
+    public int execute(String entityName, String idAttribute, String updateJpql, Map<String, ?> parameters,
+                       long resumeFromId, Consumer<BulkUpdateProgress> progress) {
+        Long maxId = em.createQuery("select max(e." + idAttribute + ") from " + entityName + " e", Long.class)
+                       .getSingleResult();
+        if (maxId == null) {
+            return 0;
+        }
+
+        long fromId = resumeFromId;
+        if (fromId <= 0) {
+            fromId = em.createQuery("select min(e." + idAttribute + ") from " + entityName + " e", Long.class)
+                       .getSingleResult();
+        }
+
+        int total = 0;
+        while (fromId <= maxId) {
+            long from = fromId;
+            long to = from + chunkSize;
+
+            Integer updated = chunkTransaction.execute(status -> {
+                Query query = em.createQuery(updateJpql);
+                parameters.forEach(query::setParameter);
+                return query.setParameter("fromId", from)
+                            .setParameter("toId", to)
+                            .executeUpdate();
+            });
+            total += updated;
+            fromId = to;
+
+            log.debug("{} chunked update - next id {} / max id {}, {} rows", entityName, to, maxId, total);
+            progress.accept(new BulkUpdateProgress(to, maxId, total));
+            sleep();
+        }
+        return total;
+    }
+
+    private void sleep() {
+        if (pause.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(pause.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("chunked update interrupted", e);
+        }
+    }
+
+}
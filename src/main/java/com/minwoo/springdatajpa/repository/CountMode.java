@@ -0,0 +1,15 @@
+package com.minwoo.springdatajpa.repository;
+
+// page 조회 시 totalCount를 구하는 방식
+public enum CountMode {
+
+    // 매번 count query 실행
+    EXACT,
+
+    // query cache(member-count region)에 query + parameter 별로 저장 / ttl 또는 member table 변경 시 무효화
+    CACHED,
+
+    // mysql 통계(information_schema, explain)의 추정치 - 정확하지 않지만 table scan 없음(실패하면 EXACT)
+    ESTIMATED
+
+}
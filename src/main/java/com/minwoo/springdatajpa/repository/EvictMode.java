@@ -0,0 +1,12 @@
+package com.minwoo.springdatajpa.repository;
+
+// bulk 연산 후 영향을 받은 영속 entity 처리 방식
+public enum EvictMode {
+
+    // 1차 캐시에서 분리 -> 다음 조회 때 다시 select(지금은 쿼리 없음)
+    DETACH,
+
+    // 같은 객체에 db 값을 다시 읽어옴(entity 하나당 select 1번)
+    REFRESH
+
+}
@@ -0,0 +1,71 @@
+package com.minwoo.springdatajpa.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Function;
+
+// where x in :values 에 크기가 제각각인 목록을 그대로 넣으면
+// - 크기마다 sql이 달라져서 query plan cache가 채워지고(in_clause_parameter_padding으로 2의 거듭제곱 크기로 맞춤)
+// - 목록이 아주 크면 sql 하나가 커져서 parse/전송 비용이 커짐
+// -> 중복 제거 후 batchSize 단위로 나눠서 조회하고 결과를 합침 / tempTableThreshold보다 크면 임시 table에 넣고 join
+@Component
+@RequiredArgsConstructor
+public class InListQueryExecutor {
+
+    static final String TEMP_TABLE = "tmp_in_list";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.in-list.batch-size:1024}")
+    private int batchSize; // 2의 거듭제곱이면 마지막 batch도 padding 후 같은 sql
+
+    @Value("${app.in-list.temp-table-threshold:10000}")
+    private int tempTableThreshold;
+
+    // inQuery는 전달받은 목록(batchSize 이하)으로 in 조건 조회
+    public <V, R> List<R> inBatches(Collection<V> values, Function<List<V>, List<R>> inQuery) {
+        List<V> distinct = List.copyOf(new LinkedHashSet<>(values));
+
+        List<R> result = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += batchSize) {
+            result.addAll(inQuery.apply(distinct.subList(from, Math.min(from + batchSize, distinct.size()))));
+        }
+        return result;
+    }
+
+    // tempTableThreshold보다 많으면 joinQuery에 임시 table 이름(TEMP_TABLE, 컬럼 val)을 넘김
+    // 임시 table은 connection 단위라 jdbc insert와 joinQuery가 같은 connection을 쓰도록 transaction 안에서 호출
+    public <R> List<R> inBatchesOrJoin(Collection<String> values,
+                                       Function<List<String>, List<R>> inQuery,
+                                       Function<String, List<R>> joinQuery) {
+        List<String> distinct = List.copyOf(new LinkedHashSet<>(values));
+        if (distinct.size() <= tempTableThreshold) {
+            return inBatches(distinct, inQuery);
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("temp table join requires an active transaction");
+        }
+
+        // 임시 table 생성/변경은 read only transaction에서도 허용됨(mysql)
+        jdbcTemplate.execute("create temporary table if not exists " + TEMP_TABLE + " (val varchar(255) not null primary key)");
+        try {
+            jdbcTemplate.execute("delete from " + TEMP_TABLE);
+            jdbcTemplate.batchUpdate("insert into " + TEMP_TABLE + " (val) values (?)",
+                                     distinct,
+                                     batchSize,
+                                     (ps, value) -> ps.setString(1, value));
+            return joinQuery.apply(TEMP_TABLE);
+        } finally {
+            jdbcTemplate.execute("drop temporary table if exists " + TEMP_TABLE);
+        }
+    }
+
+}
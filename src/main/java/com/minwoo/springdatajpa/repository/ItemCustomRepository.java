@@ -0,0 +1,23 @@
+package com.minwoo.springdatajpa.repository;
+
+import com.minwoo.springdatajpa.entity.Item;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemCustomRepository {
+
+    // id가 이미 정해진 item을 select 없이 insert만 함(이미 있는 id면 예외)
+    void insertAll(List<Item> items);
+
+    // 같은 id가 다시 들어와도 예외 없이 무시(최초 createdDate 유지)
+    void upsertAll(List<Item> items);
+
+    // READY item을 id 순으로 size개 가져와서 lock(for update skip locked) - 다른 worker가 잡은 row는 기다리지 않고 건너뜀
+    // lock은 transaction이 끝날 때까지 유지되므로 처리와 markDone을 같은 transaction에서 함(ItemWorkQueue)
+    List<Item> claimNext(int size);
+
+    // 처리한 item을 update 한 번으로 DONE 처리
+    int markDone(Collection<String> ids);
+
+}
@@ -3,5 +3,5 @@ package com.minwoo.springdatajpa.repository;
 import com.minwoo.springdatajpa.entity.Item;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, String>, ItemCustomRepository, StatelessBulkRepository<Item> {
 }
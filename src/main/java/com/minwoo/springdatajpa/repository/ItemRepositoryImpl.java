@@ -0,0 +1,96 @@
+package com.minwoo.springdatajpa.repository;
+
+import com.minwoo.springdatajpa.entity.BulkAuditing;
+import com.minwoo.springdatajpa.entity.Item;
+import com.minwoo.springdatajpa.entity.ItemStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.LockOptions;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// save()는 id가 있으면 isNew 판단 후 merge(select + insert) -> 대량 적재는 persist/jdbc batch로 처리
+@RequiredArgsConstructor
+public class ItemRepositoryImpl implements ItemCustomRepository {
+
+    private final EntityManager em;
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditorAware<String> auditorAware;
+
+    @Value("${app.bulk.batch-size:1000}")
+    private int batchSize;
+
+    // persist는 merge와 달리 select를 하지 않음 / id를 직접 넣으므로 hibernate jdbc batch(batch_size)가 동작
+    // batchSize마다 flush + clear로 1차 캐시가 커지지 않게 함(같은 transaction의 다른 entity도 준영속이 되는 것 주의)
+    // BulkAuditing 구간이라 createdDate는 시작 시각 하나로 채움(entity마다 AuditingHandler를 거치지 않음)
+    @Override
+    @Transactional
+    public void insertAll(List<Item> items) {
+        try (BulkAuditing auditing = BulkAuditing.begin(auditorAware.getCurrentAuditor().orElse(null))) {
+            for (int i = 0; i < items.size(); i++) {
+                em.persist(items.get(i));
+
+                if ((i + 1) % batchSize == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.flush();
+            em.clear();
+        }
+    }
+
+    // mysql insert ... on duplicate key update -> 이미 있는 id는 그대로 두고 새 id만 insert
+    // native jdbc batch라 auditing(createdDate)은 직접 넣음
+    @Override
+    @Transactional
+    public void upsertAll(List<Item> items) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate("insert into item (id, created_date, status) values (?, ?, ?) on duplicate key update created_date = created_date",
+                                 items,
+                                 batchSize,
+                                 (ps, item) -> {
+                                     ps.setString(1, item.getId());
+                                     ps.setTimestamp(2, now);
+                                     ps.setString(3, item.getStatus().name());
+                                 });
+    }
+
+    // lock timeout -2(LockOptions.SKIP_LOCKED) -> mysql 8 "for update skip locked"
+    // PESSIMISTIC_WRITE(timeout 없음)면 worker들이 모두 같은 맨 앞 row를 기다리며 한 줄로 처리됨
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Item> claimNext(int size) {
+        return em.createQuery("select i from Item i where i.status = :status order by i.id", Item.class)
+                 .setParameter("status", ItemStatus.READY)
+                 .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                 .setHint(AvailableHints.HINT_SPEC_LOCK_TIMEOUT, LockOptions.SKIP_LOCKED)
+                 .setMaxResults(size)
+                 .getResultList();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int markDone(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return em.createQuery("update Item i set i.status = :status, i.processedDate = :now where i.id in :ids")
+                 .setParameter("status", ItemStatus.DONE)
+                 .setParameter("now", LocalDateTime.now())
+                 .setParameter("ids", ids)
+                 .executeUpdate();
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.minwoo.springdatajpa.repository;
+
+import com.minwoo.springdatajpa.entity.Item;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// item table을 작업 queue로 사용 - worker마다 transaction 하나에서 claim(skip locked) -> 처리 -> markDone 반복
+// 서로 다른 row를 잡으므로 worker 수만큼 병렬로 처리됨(connection pool 크기보다 workers를 크게 하지 않음)
+// handler에서 예외가 나면 그 묶음은 rollback되어 READY로 남고 해당 worker는 멈춤(drain이 예외를 던짐)
+@Slf4j
+@Component
+public class ItemWorkQueue implements DisposableBean {
+
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate claimTransaction;
+    private final int workers;
+    private final int claimSize;
+    private final ExecutorService executor;
+
+    public ItemWorkQueue(ItemRepository itemRepository,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${app.queue.workers:4}") int workers,
+                         @Value("${app.queue.claim-size:100}") int claimSize) {
+        this.itemRepository = itemRepository;
+        this.claimTransaction = new TransactionTemplate(transactionManager);
+        this.workers = workers;
+        this.claimSize = claimSize;
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "item-worker-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // READY item이 없을 때까지 처리하고 처리한 item 수를 반환
+    public int drain(Consumer<Item> handler) {
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            futures.add(executor.submit(() -> work(handler)));
+        }
+
+        int total = 0;
+        for (Future<Integer> future : futures) {
+            try {
+                total += future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("item queue drain interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("item worker failed", e.getCause());
+            }
+        }
+        return total;
+    }
+
+    // claim 결과가 비었으면 종료(다른 worker가 잡고 있는 row는 그 worker가 처리)
+    private int work(Consumer<Item> handler) {
+        int processed = 0;
+        while (true) {
+            Integer claimed = claimTransaction.execute(status -> {
+                List<Item> items = itemRepository.claimNext(claimSize);
+                items.forEach(handler);
+                itemRepository.markDone(items.stream().map(Item::getId).toList());
+                return items.size();
+            });
+            if (claimed == null || claimed == 0) {
+                log.debug("{} processed {} items", Thread.currentThread().getName(), processed);
+                return processed;
+            }
+            processed += claimed;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.minwoo.springdatajpa.repository;
+
+import com.minwoo.springdatajpa.dto.BulkUpdateProgress;
+import com.minwoo.springdatajpa.entity.Member;
+import com.minwoo.springdatajpa.entity.Team;
+import com.minwoo.springdatajpa.membercount.TeamMemberCounter;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+// IDENTITY 전략은 insert 시점에 id를 받아와야 해서 hibernate가 jdbc batch를 하지 않음(persist 할 때마다 insert)
+// 대량 insert는 jdbc batch + rewriteBatchedStatements(multi-row insert)로 처리하고 생성된 id는 다시 entity에 넣어줌
+// 영속성 컨텍스트를 거치지 않으므로 auditing 값은 직접 채움 / transaction은 호출하는 쪽을 따름
+@Repository
+@RequiredArgsConstructor
+public class MemberBulkRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditorAware<String> auditorAware;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ChunkedUpdateExecutor chunkedUpdateExecutor;
+    private final TeamMemberCounter teamMemberCounter;
+
+    @Value("${app.bulk.batch-size:1000}")
+    private int batchSize;
+
+    public void saveAllTeams(List<Team> teams) {
+        insert("insert into team (name, version, member_count) values (?, 0, 0)",
+               teams,
+               (ps, team) -> ps.setString(1, team.getName()),
+               Team::setId);
+    }
+
+    // team은 먼저 저장되어 있어야 함(team_id만 사용)
+    public void saveAllMembers(List<Member> members) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String auditor = auditorAware.getCurrentAuditor().orElse(null);
+
+        insert("insert into member (username, age, team_id, created_date, updated_date, created_by, updated_by, version) values (?, ?, ?, ?, ?, ?, ?, 0)",
+               members,
+               (ps, member) -> {
+                   ps.setString(1, member.getUsername());
+                   ps.setInt(2, member.getAge());
+                   if (member.getTeam() != null) {
+                       ps.setLong(3, member.getTeam().getId());
+                   } else {
+                       ps.setNull(3, Types.BIGINT);
+                   }
+                   ps.setTimestamp(4, now);
+                   ps.setTimestamp(5, now);
+                   ps.setString(6, auditor);
+                   ps.setString(7, auditor);
+               },
+               Member::setId);
+
+        // hibernate event를 거치지 않으므로 team별 member 수는 직접 반영
+        teamMemberCounter.addAll(TeamMemberCounter.countByTeam(members));
+
+        // hibernate를 거치지 않은 insert는 query cache 무효화 대상이 아님 -> findByUsername, count 등 cache된 결과를 비움
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+
+    // MemberRepository.bulkAgePlus와 같은 결과를 pk 범위 chunk 단위 transaction으로 나눠서 실행
+    public int bulkAgePlus(int age) {
+        return bulkAgePlus(age, 0, progress -> {
+        });
+    }
+
+    // resumeFromId: 중단된 경우 마지막 progress의 nextId를 넘겨서 이어서 실행(처음이면 0)
+    public int bulkAgePlus(int age, long resumeFromId, Consumer<BulkUpdateProgress> progress) {
+        return chunkedUpdateExecutor.execute("Member", "id",
+                                             "update Member m set m.age = m.age + 1, m.version = m.version + 1 where m.age = :age and m.id >= :fromId and m.id < :toId",
+                                             Map.of("age", age),
+                                             resumeFromId,
+                                             progress);
+    }
+
+    // batchSize 단위로 끊어서 executeBatch -> chunk마다 db로 보내고 java 쪽에는 쌓아두지 않음
+    private <T> void insert(String sql, List<T> entities, ParameterizedPreparedStatementSetter<T> setter, BiConsumer<T, Long> idSetter) {
+        for (int from = 0; from < entities.size(); from += batchSize) {
+            List<T> chunk = entities.subList(from, Math.min(from + batchSize, entities.size()));
+
+            jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+                try (PreparedStatement ps = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    for (T entity : chunk) {
+                        setter.setValues(ps, entity);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        int i = 0;
+                        while (keys.next() && i < chunk.size()) {
+                            idSetter.accept(chunk.get(i++), keys.getLong(1));
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+    }
+
+}
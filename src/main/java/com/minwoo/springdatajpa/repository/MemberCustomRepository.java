@@ -1,11 +1,37 @@
 package com.minwoo.springdatajpa.repository;
 
 import com.minwoo.springdatajpa.entity.Member;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Window;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 
 public interface MemberCustomRepository {
 
     List<Member> findMembersByCustom();
 
+    // username in 조회 - 목록 크기에 따라 in 절 batch 또는 임시 table join(InListQueryExecutor)
+    List<Member> findByNames(Collection<String> names);
+
+    // keyset(seek) paging - offset/count query 없이 마지막 key 이후만 조회
+    Window<Member> scrollById(KeysetScrollPosition position, int size);
+
+    Window<Member> scrollByUsername(KeysetScrollPosition position, int size);
+
+    // bulkAgePlus와 같은 update지만 1차 캐시 전체가 아니라 나이가 age였던 영속 Member만 detach/refresh
+    int bulkAgePlus(int age, EvictMode mode);
+
+    long countByAge(int age, CountMode mode);
+
+    long countAll(CountMode mode);
+
+    // 낙관적 lock(@Version)으로 수정 - 충돌하면 새 transaction에서 다시 읽어서 재시도
+    Member increaseAge(Long memberId, int delta);
+
+    // PESSIMISTIC_WRITE지만 timeout까지만 lock을 기다림(mysql은 innodb_lock_wait_timeout, 1초 단위로 올림)
+    // 0 이하면 findLockNoWaitByUsername과 같음(기다리지 않고 바로 예외)
+    Member findLockByUsername(String username, Duration timeout);
+
 }
@@ -11,6 +11,21 @@ import java.util.Optional;
 @Repository
 public class MemberJpaRepository {
 
+    // hand-written jpql - QueryWarmup이 기동 시 미리 parse(QUERIES)
+    static final String FIND_ALL = "select m from Member m";
+    static final String COUNT = "select count(m) from Member m";
+    static final String FIND_BY_USERNAME_AND_AGE_GREATER_THAN = "select m from Member m where m.username = :username and m.age > :age";
+    static final String FIND_BY_PAGE = "select m from Member m where m.age = :age order by  m.username desc";
+    static final String FIND_FIRST_PAGE = "select m from Member m where m.age = :age order by m.username desc, m.id desc";
+    static final String FIND_PAGE_AFTER = "select m from Member m where m.age = :age" +
+                                          " and (m.username < :username or (m.username = :username and m.id < :id))" +
+                                          " order by m.username desc, m.id desc";
+    static final String TOTAL_COUNT = "select count(m) from Member m where m.age = :age";
+    static final String BULK_AGE_PLUS = "update Member m set m.age = m.age + 1, m.version = m.version + 1 where m.age = :age";
+
+    static final List<String> QUERIES = List.of(FIND_ALL, COUNT, FIND_BY_USERNAME_AND_AGE_GREATER_THAN, FIND_BY_PAGE,
+                                                FIND_FIRST_PAGE, FIND_PAGE_AFTER, TOTAL_COUNT, BULK_AGE_PLUS);
+
     @PersistenceContext
     private EntityManager em;
 
@@ -28,7 +43,7 @@ public class MemberJpaRepository {
     }
 
     public List<Member> findAll() {
-        return em.createQuery("select m from Member m", Member.class)
+        return em.createQuery(FIND_ALL, Member.class)
                  .getResultList();
     }
 
@@ -38,12 +53,12 @@ public class MemberJpaRepository {
     }
 
     public long count() {
-        return em.createQuery("select count(m) from Member m", Long.class)
+        return em.createQuery(COUNT, Long.class)
                  .getSingleResult();
     }
 
     public List<Member> findByUsernameAndAgeGreaterThan(String username, int age) {
-        return em.createQuery("select m from Member m where m.username = :username and m.age > :age", Member.class)
+        return em.createQuery(FIND_BY_USERNAME_AND_AGE_GREATER_THAN, Member.class)
                  .setParameter("username", username)
                  .setParameter("age", age)
                  .getResultList();
@@ -56,21 +71,39 @@ public class MemberJpaRepository {
     }
 
     public List<Member> findByPage(int age, int offset, int limit) {
-        return em.createQuery("select m from Member m where m.age = :age order by  m.username desc", Member.class)
+        return em.createQuery(FIND_BY_PAGE, Member.class)
                  .setParameter("age", age)
                  .setFirstResult(offset)
                  .setMaxResults(limit)
                  .getResultList();
     }
 
+    // findByPage의 seek 버전 - 이전 페이지 마지막 (username, id) 다음부터 limit개 조회(offset 없음)
+    // 첫 페이지는 lastUsername, lastId를 null로 호출
+    public List<Member> findByPageAfter(int age, String lastUsername, Long lastId, int limit) {
+        if (lastId == null) {
+            return em.createQuery(FIND_FIRST_PAGE, Member.class)
+                     .setParameter("age", age)
+                     .setMaxResults(limit)
+                     .getResultList();
+        }
+
+        return em.createQuery(FIND_PAGE_AFTER, Member.class)
+                 .setParameter("age", age)
+                 .setParameter("username", lastUsername)
+                 .setParameter("id", lastId)
+                 .setMaxResults(limit)
+                 .getResultList();
+    }
+
     public long totalCount(int age) {
-        return em.createQuery("select count(m) from Member m where m.age = :age", Long.class)
+        return em.createQuery(TOTAL_COUNT, Long.class)
                  .setParameter("age", age)
                  .getSingleResult();
     }
 
     public int bulkAgePlus(int age) {
-        return em.createQuery("update Member m set m.age = m.age + 1 where m.age = :age")
+        return em.createQuery(BULK_AGE_PLUS)
                  .setParameter("age", age)
                  .executeUpdate();
     }
@@ -9,11 +9,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface MemberRepository extends JpaRepository<Member, Long>, MemberCustomRepository {
+public interface MemberRepository extends JpaRepository<Member, Long>, MemberCustomRepository, StatelessBulkRepository<Member> {
 
     List<Member> findByUsernameAndAgeGreaterThan(String username, int age);
 
@@ -29,8 +32,11 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberCus
     @Query("select new com.minwoo.springdatajpa.dto.MemberDto(m.id, m.username, t.name) from Member m join m.team t")
     List<MemberDto> findMemberDto();
 
-    @Query("select m from Member m where m.username in :names")
-    List<Member> findByNames(@Param("names") List<String> names);
+    // getResultList()로 한 번에 올리지 않고 cursor로 한 row씩 읽음(transaction 안에서 사용, 다 쓰면 close)
+    // mysql은 fetchSize가 Integer.MIN_VALUE일 때 row 단위 streaming / dto로 조회해서 영속성 컨텍스트에 쌓이지 않음
+    @QueryHints(value = @QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"))
+    @Query("select new com.minwoo.springdatajpa.dto.MemberDto(m.id, m.username, t.name) from Member m left join m.team t")
+    Stream<MemberDto> streamMemberDto();
 
     // 검색 결과가 없으면 null이 아니라 사이즈가 0인 collection이 나오는 것 주의(null 체크가 아니라 size 체크를 해야함)
     List<Member> findListByUsername(String username);
@@ -45,15 +51,30 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberCus
     Optional<Member> findOptionalByUsername(String username);
 
     // countQuery를 분리하여 불필요한 부하 줄임
+    // readOnly transaction -> replica routing 사용 시 replica에서 조회
+    @Transactional(readOnly = true)
     @Query(value = "select m from Member m left join m.team t",
            countQuery = "select count(m.id) from Member m")
     Page<Member> findByAge(int age, Pageable pageable);
 
+    @Transactional(readOnly = true)
     Slice<Member> findSliceByAge(int age, Pageable pageable);
 
+    // count query 없이 page 내용만 조회(List + Pageable) -> count는 CountMode로 따로 구함
+    @Transactional(readOnly = true)
+    @Query("select m from Member m left join m.team t where m.age = :age")
+    List<Member> findContentByAge(@Param("age") int age, Pageable pageable);
+
+    // 첫 page가 size보다 적거나 마지막 page면 count를 생략(PageableExecutionUtils)
+    default Page<Member> findPageByAge(int age, Pageable pageable, CountMode countMode) {
+        return PageableExecutionUtils.getPage(findContentByAge(age, pageable), pageable, () -> countByAge(age, countMode));
+    }
+
     // clearAutomatically = true -> entityManager.clear()와 같은 역할(1차 캐시 비우기를 통해 update 이후 select와 동기화)
+    // 2차 cache는 hibernate가 jpql bulk 연산 시 Member region과 member table의 query cache를 무효화함
+    // bulk 연산은 @Version을 올리지 않으므로 직접 올려서 이미 조회한 entity의 update가 충돌로 감지되게 함
     @Modifying(clearAutomatically = true) // @Modifying -> executeUpdate() 역할 꼭 필요!(InvalidDataAccess Exception 발생)
-    @Query("update Member m set m.age = m.age + 1 where m.age = :age")
+    @Query("update Member m set m.age = m.age + 1, m.version = m.version + 1 where m.age = :age")
     int bulkAgePlus(@Param("age") int age);
 
     // N + 1 문제를 해결하기 위해 fetch join 함
@@ -74,19 +95,35 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberCus
     List<Member> findAllEntityGraphByUsername(@Param("username") String username);
 
     // 읽기 전용으로만 쓰게되어 dirty checking을 하지 않아 성능 최적화(update가 되지 않음)
+    @Transactional(readOnly = true)
     @QueryHints(value = @QueryHint(name = "org.hibernate.readOnly", value = "true"))
     Member findReadOnlyByUsername(String username);
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     Member findLockByUsername(String username);
 
+    // select ... for update nowait -> 다른 transaction이 lock을 잡고 있으면 기다리지 않고 바로 예외(CannotAcquireLockException 등)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(value = @QueryHint(name = "jakarta.persistence.lock.timeout", value = "0"))
+    Member findLockNoWaitByUsername(String username);
+
     // 반환 타임이 제한적(Object 등) / 동적 쿼리 불가 / 런타임에 에러 확인 등 -> (jdbcTemplate/mybatis 추천)
     @Query(value = "select member_id from member where username = ? and age = ?", nativeQuery = true)
     String findByNativeQuery(String username, int age);
 
+    @Transactional(readOnly = true)
     @Query(value = "select m.member_id as id, m.username, t.name as teamName from Member m left join Team t on m.team_id = t.team_id",
            countQuery = "select count(*) from Member",
            nativeQuery = true)
     Page<MemberProjection> findByNativeQueryByProjection(Pageable pageable);
 
+    @Transactional(readOnly = true)
+    @Query(value = "select m.member_id as id, m.username, t.name as teamName from Member m left join Team t on m.team_id = t.team_id",
+           nativeQuery = true)
+    List<MemberProjection> findProjectionContent(Pageable pageable);
+
+    default Page<MemberProjection> findByNativeQueryByProjection(Pageable pageable, CountMode countMode) {
+        return PageableExecutionUtils.getPage(findProjectionContent(pageable), pageable, () -> countAll(countMode));
+    }
+
 }
\ No newline at end of file
@@ -2,9 +2,31 @@ package com.minwoo.springdatajpa.repository;
 
 import com.minwoo.springdatajpa.entity.Member;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 // QueryDSL/JDBCTemplate 사용하는 경우 활용
 // Base가 되는 repository(MemberRepository)명 + Impl으로 naming해주면 data jpa가 연결시킴
@@ -13,6 +35,9 @@ import java.util.List;
 public class MemberRepositoryImpl implements MemberCustomRepository {
 
     private final EntityManager em;
+    private final JdbcTemplate jdbcTemplate;
+    private final InListQueryExecutor inListQueryExecutor;
+    private final ObjectProvider<MemberRepository> memberRepository; // 자신을 fragment로 가진 repository라 생성 후에 꺼냄
 
     @Override
     public List<Member> findMembersByCustom() {
@@ -20,4 +45,190 @@ public class MemberRepositoryImpl implements MemberCustomRepository {
                  .getResultList();
     }
 
-}
\ No newline at end of file
+    // 10만 개 username도 batch 수 / 임시 table insert 한 번으로 실행 시간이 제한됨
+    @Override
+    @Transactional(readOnly = true)
+    @SuppressWarnings("unchecked")
+    public List<Member> findByNames(Collection<String> names) {
+        return inListQueryExecutor.inBatchesOrJoin(
+                names,
+                batch -> em.createQuery("select m from Member m where m.username in :names", Member.class)
+                           .setParameter("names", batch)
+                           .getResultList(),
+                table -> em.createNativeQuery("select m.* from member m join " + table + " n on n.val = m.username", Member.class)
+                           .getResultList());
+    }
+
+    // where m.id > :id order by m.id -> pk index만 타고 앞 페이지를 건너뛰지 않음
+    @Override
+    @Transactional(readOnly = true)
+    public Window<Member> scrollById(KeysetScrollPosition position, int size) {
+        Long id = (Long) position.getKeys().get("id");
+
+        TypedQuery<Member> query = em.createQuery("select m from Member m left join fetch m.team" +
+                                                  (id == null ? "" : " where m.id > :id") +
+                                                  " order by m.id asc", Member.class);
+        if (id != null) {
+            query.setParameter("id", id);
+        }
+
+        return toWindow(query, size, member -> Map.of("id", member.getId()));
+    }
+
+    // (username, id) 순서 - username이 같은 경우 id로 다음 위치를 구분
+    // username은 null일 수 있음 - mysql은 asc 정렬에서 null이 먼저 -> null 구간은 id로만 이어가고 그 다음 non-null 전체
+    @Override
+    @Transactional(readOnly = true)
+    public Window<Member> scrollByUsername(KeysetScrollPosition position, int size) {
+        Map<String, Object> keys = position.getKeys();
+        Long id = (Long) keys.get("id");
+        if (id != null && !keys.containsKey("username")) {
+            throw new IllegalArgumentException("username keyset position requires username: " + keys);
+        }
+        String username = (String) keys.get("username");
+
+        String where = id == null ? ""
+                : username == null ? " where (m.username is null and m.id > :id) or m.username is not null"
+                : " where m.username > :username or (m.username = :username and m.id > :id)";
+        TypedQuery<Member> query = em.createQuery("select m from Member m left join fetch m.team" + where +
+                                                  " order by m.username asc, m.id asc", Member.class);
+        if (id != null) {
+            query.setParameter("id", id);
+        }
+        if (username != null) {
+            query.setParameter("username", username);
+        }
+
+        return toWindow(query, size, member -> {
+            Map<String, Object> next = new LinkedHashMap<>(); // username null 허용(Map.of는 null 불가)
+            next.put("username", member.getUsername());
+            next.put("id", member.getId());
+            return next;
+        });
+    }
+
+    @Override
+    @Transactional
+    public int bulkAgePlus(int age, EvictMode mode) {
+        return PersistenceContextEvictor.executeUpdate(em, Member.class, "m",
+                                                       "m.age = m.age + 1, m.version = m.version + 1",
+                                                       "m.age = :age",
+                                                       Map.of("age", age),
+                                                       mode);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countByAge(int age, CountMode mode) {
+        if (mode == CountMode.ESTIMATED) {
+            Long estimated = estimate("explain select * from member where age = ?", age);
+            if (estimated != null) {
+                return estimated;
+            }
+        }
+
+        return count(em.createQuery("select count(m) from Member m where m.age = :age", Long.class)
+                       .setParameter("age", age), mode);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countAll(CountMode mode) {
+        if (mode == CountMode.ESTIMATED) {
+            Long estimated = estimate("select table_rows as `rows` from information_schema.tables where table_schema = database() and table_name = 'member'");
+            if (estimated != null) {
+                return estimated;
+            }
+        }
+
+        return count(em.createQuery("select count(m) from Member m", Long.class), mode);
+    }
+
+    private long count(TypedQuery<Long> query, CountMode mode) {
+        if (mode == CountMode.CACHED) {
+            query.setHint("org.hibernate.cacheable", true)
+                 .setHint("org.hibernate.cacheRegion", "member-count");
+        }
+        return query.getSingleResult();
+    }
+
+    // explain의 rows / information_schema의 table_rows(innodb 통계 기반 추정치)
+    private Long estimate(String sql, Object... args) {
+        try {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(sql, args);
+            if (rows.isEmpty() || !(rows.get(0).get("rows") instanceof Number estimated)) {
+                return null;
+            }
+            return estimated.longValue();
+        } catch (DataAccessException e) {
+            return null;
+        }
+    }
+
+    // 다른 transaction이 먼저 수정하면 commit 시 ObjectOptimisticLockingFailureException
+    // -> transaction 전체를 backoff 후 다시 실행(이미 transaction 안에서 호출하면 재시도해도 같은 transaction이라 의미 없음)
+    @Override
+    @Retryable(retryFor = OptimisticLockingFailureException.class,
+               maxAttemptsExpression = "${app.retry.optimistic.max-attempts:3}",
+               backoff = @Backoff(delayExpression = "${app.retry.optimistic.delay:50}",
+                                  multiplierExpression = "${app.retry.optimistic.multiplier:2}",
+                                  random = true))
+    @Transactional
+    public Member increaseAge(Long memberId, int delta) {
+        Member member = em.find(Member.class, memberId);
+        member.setAge(member.getAge() + delta);
+        return member;
+    }
+
+    // innodb_lock_wait_timeout은 초 단위 -> timeout을 초로 올림(1.2s -> 2s) / 0 이하면 기다리지 않음(for update nowait)
+    @Override
+    @Transactional
+    public Member findLockByUsername(String username, Duration timeout) {
+        if (timeout.isZero() || timeout.isNegative()) {
+            return memberRepository.getObject().findLockNoWaitByUsername(username);
+        }
+
+        Session session = em.unwrap(Session.class);
+        int previous = session.doReturningWork(connection -> lockWaitTimeout(connection, lockWaitSeconds(timeout)));
+        try {
+            List<Member> members = em.createQuery("select m from Member m where m.username = :username", Member.class)
+                                     .setParameter("username", username)
+                                     .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                                     .getResultList();
+            return members.isEmpty() ? null : members.get(0);
+        } finally {
+            session.doWork(connection -> lockWaitTimeout(connection, previous));
+        }
+    }
+
+    // 올림, innodb_lock_wait_timeout 최대값(1073741824)까지
+    static int lockWaitSeconds(Duration timeout) {
+        long seconds = timeout.toSeconds() + (timeout.toNanosPart() > 0 ? 1 : 0);
+        return (int) Math.min(seconds, 1_073_741_824L);
+    }
+
+    // 이전 값을 반환
+    private static int lockWaitTimeout(Connection connection, int seconds) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            int previous;
+            try (ResultSet rs = statement.executeQuery("select @@innodb_lock_wait_timeout")) {
+                rs.next();
+                previous = rs.getInt(1);
+            }
+            statement.execute("set session innodb_lock_wait_timeout = " + seconds);
+            return previous;
+        }
+    }
+
+    // size + 1개를 가져와서 다음 window 존재 여부를 판단(Slice와 같은 방식)
+    private Window<Member> toWindow(TypedQuery<Member> query, int size, Function<Member, Map<String, ?>> keys) {
+        List<Member> result = query.setMaxResults(size + 1)
+                                   .getResultList();
+
+        boolean hasNext = result.size() > size;
+        List<Member> content = hasNext ? result.subList(0, size) : result;
+
+        return Window.from(content, i -> ScrollPosition.forward(keys.apply(content.get(i))), hasNext);
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.minwoo.springdatajpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.metamodel.EntityType;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+// @Modifying(clearAutomatically = true)는 1차 캐시 전체를 비워서 관계없는 entity(Team 등)까지 다시 select 해야 함
+// -> bulk 연산의 대상이 되는 type / 조건에 맞는 영속 entity만 detach 또는 refresh
+// 2차 cache는 jpql bulk 연산 시 hibernate가 해당 entity region을 무효화함
+final class PersistenceContextEvictor {
+
+    private PersistenceContextEvictor() {
+    }
+
+    // update {entity} {alias} set {set} where {where} 실행
+    // 대상 판단은 같은 where 조건으로 update 전에 db에서 id를 조회(영속 상태인 id로 한정)해서 맞춤
+    // -> java 조건을 따로 두지 않아서 jpql 조건과 어긋날 일이 없음, 영속 entity가 없으면 조회도 생략
+    static <T> int executeUpdate(EntityManager em, Class<T> type, String alias, String set, String where,
+                                 Map<String, ?> parameters, EvictMode mode) {
+        em.flush(); // 아직 반영되지 않은 변경이 bulk 연산 뒤에 덮어쓰지 않도록 먼저 반영
+
+        EntityType<T> entityType = em.getMetamodel().entity(type);
+        String from = entityType.getName() + " " + alias;
+
+        Map<Object, T> managed = managed(em, type);
+        Set<Object> affected = new HashSet<>();
+        if (!managed.isEmpty()) {
+            String id = alias + "." + entityType.getId(entityType.getIdType().getJavaType()).getName();
+            Query ids = em.createQuery("select " + id + " from " + from + " where (" + where + ") and " + id + " in :ids")
+                          .setParameter("ids", managed.keySet());
+            parameters.forEach(ids::setParameter);
+            affected.addAll(ids.getResultList());
+        }
+
+        Query update = em.createQuery("update " + from + " set " + set + " where " + where);
+        parameters.forEach(update::setParameter);
+        int count = update.executeUpdate();
+
+        for (Object id : affected) {
+            T target = managed.get(id);
+            if (mode == EvictMode.REFRESH) {
+                em.refresh(target);
+            } else {
+                em.detach(target);
+            }
+        }
+        return count;
+    }
+
+    private static <T> Map<Object, T> managed(EntityManager em, Class<T> type) {
+        Map<Object, T> result = new HashMap<>();
+        for (Map.Entry<Object, EntityEntry> entry : em.unwrap(SessionImplementor.class)
+                                                      .getPersistenceContextInternal()
+                                                      .reentrantSafeEntityEntries()) {
+            Object entity = entry.getKey();
+            if (type.isInstance(entity) && entry.getValue().getStatus() == Status.MANAGED) {
+                result.put(entry.getValue().getId(), type.cast(entity));
+            }
+        }
+        return result;
+    }
+
+}
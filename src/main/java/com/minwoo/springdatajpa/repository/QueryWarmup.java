@@ -0,0 +1,119 @@
+package com.minwoo.springdatajpa.repository;
+
+import com.minwoo.springdatajpa.dto.QueryWarmupResultDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 배포 직후 첫 요청들이 hql parse 비용을 내지 않도록 기동 시(web server가 요청을 받기 전) 미리 parse
+// - spring data repository의 @Query(+ countQuery), entity의 @NamedQuery, *JpaRepository의 QUERIES
+// - parse 결과는 hibernate query plan cache(hql 문자열이 key)에 남음 / 잘못된 jpql이면 기동 실패
+// derived query(findByUsername 등)는 hql 문자열 없이 criteria로 만들어지므로 대상이 아님
+// 결과(query별 parse 시간)는 /query-plan/stats 에서 확인
+@Slf4j
+@Component
+@Lazy(false) // lazy-initialization이어도 기동 시 실행
+@ConditionalOnProperty(prefix = "app.query-warmup", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class QueryWarmup implements SmartInitializingSingleton {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ListableBeanFactory beanFactory;
+
+    private volatile List<QueryWarmupResultDto> results = List.of();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Map<String, String> queries = new LinkedHashMap<>(); // source -> jpql
+        collectRepositoryQueries(queries);
+        collectNamedQueries(queries);
+        addAll(queries, "MemberJpaRepository", MemberJpaRepository.QUERIES);
+        addAll(queries, "TeamJpaRepository", TeamJpaRepository.QUERIES);
+
+        List<QueryWarmupResultDto> compiled = new ArrayList<>();
+        List<String> failures = new ArrayList<>();
+        long start = System.nanoTime();
+        try (EntityManager em = entityManagerFactory.createEntityManager()) {
+            queries.forEach((source, jpql) -> {
+                long queryStart = System.nanoTime();
+                try {
+                    em.createQuery(jpql);
+                    compiled.add(new QueryWarmupResultDto(source, jpql, (System.nanoTime() - queryStart) / 1_000));
+                } catch (IllegalArgumentException e) {
+                    failures.add(source + " : " + e.getMessage());
+                }
+            });
+        }
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("invalid jpql\n" + String.join("\n", failures));
+        }
+
+        compiled.sort(Comparator.comparingLong(QueryWarmupResultDto::getCompileMicros).reversed());
+        results = List.copyOf(compiled);
+
+        log.info("query warm-up - {} queries in {} ms", compiled.size(), (System.nanoTime() - start) / 1_000_000);
+        compiled.stream()
+                .limit(5)
+                .forEach(result -> log.info("  {} us - {}", result.getCompileMicros(), result.getSource()));
+    }
+
+    // parse 시간이 긴 순
+    public List<QueryWarmupResultDto> getResults() {
+        return results;
+    }
+
+    private void collectRepositoryQueries(Map<String, String> queries) {
+        Repositories repositories = new Repositories(beanFactory);
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            for (Method method : information.getQueryMethods()) {
+                Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+                if (query == null || query.nativeQuery()) {
+                    continue;
+                }
+                String source = information.getRepositoryInterface().getSimpleName() + "." + method.getName();
+                if (StringUtils.hasText(query.value())) {
+                    queries.put(source, query.value());
+                }
+                if (StringUtils.hasText(query.countQuery())) {
+                    queries.put(source + "(count)", query.countQuery());
+                }
+            }
+        }
+    }
+
+    private void collectNamedQueries(Map<String, String> queries) {
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            for (NamedQuery namedQuery : entity.getJavaType().getAnnotationsByType(NamedQuery.class)) {
+                queries.put(namedQuery.name(), namedQuery.query());
+            }
+        }
+    }
+
+    private static void addAll(Map<String, String> queries, String source, List<String> jpqls) {
+        for (int i = 0; i < jpqls.size(); i++) {
+            queries.put(source + "#" + i, jpqls.get(i));
+        }
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.minwoo.springdatajpa.repository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// StatelessSession 기반 대량 처리(ETL) - MemberRepository, TeamRepository, ItemRepository에 붙는 fragment
+// 영속성 컨텍스트에 올리지 않으므로 처리 후 entity를 변경해도 반영되지 않음(다시 updateAllStateless 호출)
+public interface StatelessBulkRepository<T> {
+
+    // IDENTITY(Member, Team)는 row마다 insert 후 id를 받아야 해서 batch가 안 됨 -> 대량 insert는 MemberBulkRepository(jdbc)
+    void insertAllStateless(Collection<T> entities);
+
+    // 모든 컬럼 update + @Version 확인/증가(다른 곳에서 먼저 바뀌었으면 StaleStateException)
+    // 이전 값을 모르므로 member의 team 변경은 Team.memberCount에 반영되지 않음(TeamMemberCountReconciler)
+    void updateAllStateless(Collection<T> entities);
+
+    // id가 있어야 함 - 없으면 insert, 있으면 update
+    void upsertAllStateless(Collection<T> entities);
+
+    // hql 결과를 한 row씩 streaming으로 읽어서 action에 넘김(읽은 row 수 반환)
+    // streaming 중에는 같은 connection에서 다른 쿼리를 실행할 수 없으므로 action에서 repository 조회 금지
+    <R> long scrollStateless(String hql, Class<R> type, Map<String, ?> parameters, Consumer<R> action);
+
+}
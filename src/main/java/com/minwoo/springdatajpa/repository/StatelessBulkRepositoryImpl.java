@@ -0,0 +1,159 @@
+package com.minwoo.springdatajpa.repository;
+
+import com.minwoo.springdatajpa.entity.BaseTimeEntity;
+import com.minwoo.springdatajpa.entity.BulkAuditing;
+import com.minwoo.springdatajpa.entity.BulkAuditingEntityListener;
+import com.minwoo.springdatajpa.membercount.TeamMemberCounter;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnitUtil;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.query.Query;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.Persistable;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// StatelessSession은 1차 cache, dirty checking, cascade, lazy loading, 2차 cache, entity listener를 거치지 않음
+// -> entity 수와 상관없이 메모리가 일정하고 insert/update가 jdbc batch(batchSize)로 바로 나감
+// entity listener가 불리지 않으므로 auditing 값은 BulkAuditing 구간에서 listener를 직접 호출해서 채움
+// 현재 spring transaction의 connection을 넘겨서 사용 -> 같은 transaction으로 commit/rollback
+// 2차 cache도 거치지 않으므로 변경한 entity와 query cache는 직접 비움
+@RequiredArgsConstructor
+public class StatelessBulkRepositoryImpl<T> implements StatelessBulkRepository<T> {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final DataSource dataSource;
+    private final AuditorAware<String> auditorAware;
+    private final BulkAuditingEntityListener auditingListener;
+    private final TeamMemberCounter teamMemberCounter;
+
+    @Value("${app.bulk.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    @Transactional
+    public void insertAllStateless(Collection<T> entities) {
+        execute(session -> {
+            try (BulkAuditing auditing = BulkAuditing.begin(currentAuditor())) {
+                for (T entity : entities) {
+                    auditingListener.touchForCreate(entity);
+                    session.insert(entity);
+                }
+            }
+            return null;
+        });
+        evictCaches(entities, false);
+        teamMemberCounter.addAll(TeamMemberCounter.countByTeam(entities)); // Member만 해당
+    }
+
+    @Override
+    @Transactional
+    public void updateAllStateless(Collection<T> entities) {
+        execute(session -> {
+            try (BulkAuditing auditing = BulkAuditing.begin(currentAuditor())) {
+                for (T entity : entities) {
+                    auditingListener.touchForUpdate(entity);
+                    session.update(entity);
+                }
+            }
+            return null;
+        });
+        evictCaches(entities, true);
+    }
+
+    // createdDate/createdBy는 updatable = false라 이미 있는 row면 처음 값이 유지됨
+    @Override
+    @Transactional
+    public void upsertAllStateless(Collection<T> entities) {
+        execute(session -> {
+            try (BulkAuditing auditing = BulkAuditing.begin(currentAuditor())) {
+                for (T entity : entities) {
+                    if (isNew(entity)) {
+                        auditingListener.touchForCreate(entity);
+                    } else {
+                        auditingListener.touchForUpdate(entity);
+                    }
+                    session.upsert(entity);
+                }
+            }
+            return null;
+        });
+        evictCaches(entities, true);
+    }
+
+    // mysql은 fetchSize가 Integer.MIN_VALUE일 때 row 단위 streaming(streamMemberDto와 같음)
+    @Override
+    @Transactional(readOnly = true)
+    public <R> long scrollStateless(String hql, Class<R> type, Map<String, ?> parameters, Consumer<R> action) {
+        return execute(session -> {
+            Query<R> query = session.createQuery(hql, type)
+                                    .setFetchSize(Integer.MIN_VALUE);
+            parameters.forEach(query::setParameter);
+
+            long count = 0;
+            try (ScrollableResults<R> results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+                while (results.next()) {
+                    action.accept(results.get());
+                    count++;
+                }
+            }
+            return count;
+        });
+    }
+
+    private <V> V execute(Function<StatelessSession, V> work) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (StatelessSession session = entityManagerFactory.unwrap(SessionFactory.class)
+                                                            .withStatelessOptions()
+                                                            .connection(connection)
+                                                            .openStatelessSession()) {
+            session.setJdbcBatchSize(batchSize);
+            V result = work.apply(session);
+            // 마지막 batch(batchSize 미만)를 transaction commit 전에 실행
+            ((SharedSessionContractImplementor) session).getJdbcCoordinator().executeBatch();
+            return result;
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private void evictCaches(Collection<T> entities, boolean entityData) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        if (entityData) {
+            PersistenceUnitUtil util = entityManagerFactory.getPersistenceUnitUtil();
+            for (T entity : entities) {
+                cache.evictEntityData(entity.getClass(), util.getIdentifier(entity));
+            }
+        }
+        cache.evictQueryRegions();
+    }
+
+    private String currentAuditor() {
+        return auditorAware.getCurrentAuditor().orElse(null);
+    }
+
+    private static boolean isNew(Object entity) {
+        if (entity instanceof Persistable<?> persistable) {
+            return persistable.isNew();
+        }
+        if (entity instanceof BaseTimeEntity auditable) {
+            return auditable.getCreatedDate() == null;
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.minwoo.springdatajpa.repository;
+
+import com.minwoo.springdatajpa.entity.Team;
+
+import java.util.List;
+
+public interface TeamCustomRepository {
+
+    // 이미 조회한 team들의 memberList를 app.team.member-batch-size개씩 in 조건 + collection fetch join으로 초기화
+    void fetchMemberLists(List<Team> teams);
+
+}
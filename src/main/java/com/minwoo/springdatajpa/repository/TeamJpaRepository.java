@@ -3,6 +3,7 @@ package com.minwoo.springdatajpa.repository;
 import com.minwoo.springdatajpa.entity.Team;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,26 +12,48 @@ import java.util.Optional;
 @Repository
 public class TeamJpaRepository {
 
+    // hand-written jpql - QueryWarmup이 기동 시 미리 parse(QUERIES)
+    static final String FIND_ALL = "select t from Team t";
+    static final String FIND_ALL_ORDER_BY_ID = "select t from Team t order by t.id";
+    static final String COUNT = "select count(t) from Team t";
+
+    static final List<String> QUERIES = List.of(FIND_ALL, FIND_ALL_ORDER_BY_ID, TeamMemberListFetcher.FETCH_MEMBER_LIST, COUNT);
+
     @PersistenceContext
     private EntityManager em;
 
+    @Value("${app.team.member-batch-size:100}")
+    private int memberBatchSize;
+
     public Team saveTeam(Team team) {
         em.persist(team);
         return team;
     }
 
     public List<Team> findAll() {
-        return em.createQuery("select t from Team t", Team.class)
+        return em.createQuery(FIND_ALL, Team.class)
                  .getResultList();
     }
 
+    // team을 id 순으로 paging 한 뒤 memberBatchSize개씩 in 조건으로 memberList를 초기화
+    // 쿼리 수 = 1 + (limit / memberBatchSize 올림)
+    public List<Team> findAllWithMemberList(int offset, int limit) {
+        List<Team> teams = em.createQuery(FIND_ALL_ORDER_BY_ID, Team.class)
+                             .setFirstResult(offset)
+                             .setMaxResults(limit)
+                             .getResultList();
+
+        TeamMemberListFetcher.fetch(em, teams, memberBatchSize);
+        return teams;
+    }
+
     public Optional<Team> findById(Long id) {
         Team team = em.find(Team.class, id);
         return Optional.ofNullable(team);
     }
 
     public long count() {
-        return em.createQuery("select count(t) from Team t", Long.class)
+        return em.createQuery(COUNT, Long.class)
                  .getSingleResult();
     }
 
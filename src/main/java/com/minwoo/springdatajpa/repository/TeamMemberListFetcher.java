@@ -0,0 +1,25 @@
+package com.minwoo.springdatajpa.repository;
+
+import com.minwoo.springdatajpa.entity.Team;
+import jakarta.persistence.EntityManager;
+
+import java.util.List;
+
+// 이미 조회한 team들의 memberList를 batchSize개씩 in 조건 + collection fetch join으로 초기화
+// TeamJpaRepository(순수 jpa), TeamRepositoryImpl(spring data fragment)이 같이 사용
+final class TeamMemberListFetcher {
+
+    static final String FETCH_MEMBER_LIST = "select distinct t from Team t left join fetch t.memberList where t in :teams";
+
+    private TeamMemberListFetcher() {
+    }
+
+    static void fetch(EntityManager em, List<Team> teams, int batchSize) {
+        for (int from = 0; from < teams.size(); from += batchSize) {
+            em.createQuery(FETCH_MEMBER_LIST, Team.class)
+              .setParameter("teams", teams.subList(from, Math.min(from + batchSize, teams.size())))
+              .getResultList();
+        }
+    }
+
+}
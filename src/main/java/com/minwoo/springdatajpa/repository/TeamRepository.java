@@ -1,9 +1,30 @@
 package com.minwoo.springdatajpa.repository;
 
+import com.minwoo.springdatajpa.dto.TeamMemberCountDto;
 import com.minwoo.springdatajpa.entity.Team;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 //@Repository 생략 가능 > 인터페이스만 봐도 파악 가능
-public interface TeamRepository extends JpaRepository<Team, Long> {
+public interface TeamRepository extends JpaRepository<Team, Long>, StatelessBulkRepository<Team>, TeamCustomRepository {
+
+    // memberList를 올리거나 member를 group by 하지 않고 team row만 읽음(유지되는 member_count)
+    @Transactional(readOnly = true)
+    @Query(value = "select new com.minwoo.springdatajpa.dto.TeamMemberCountDto(t.id, t.name, t.memberCount) from Team t",
+           countQuery = "select count(t) from Team t")
+    Page<TeamMemberCountDto> findTeamMemberCounts(Pageable pageable);
+
+    // collection fetch join + paging은 메모리에서 paging(경고) -> team만 먼저 paging 하고 member는 batch 단위로 따로 조회
+    // 쿼리 수 = team 조회 + count + (page 크기 / app.team.member-batch-size 올림) - TeamJpaRepository.findAllWithMemberList와 같음
+    @Transactional(readOnly = true)
+    default Page<Team> findAllWithMemberList(Pageable pageable) {
+        Page<Team> teams = findAll(pageable);
+        fetchMemberLists(teams.getContent());
+        return teams;
+    }
+
 }
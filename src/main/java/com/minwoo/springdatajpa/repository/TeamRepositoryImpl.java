@@ -0,0 +1,23 @@
+package com.minwoo.springdatajpa.repository;
+
+import com.minwoo.springdatajpa.entity.Team;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TeamRepositoryImpl implements TeamCustomRepository {
+
+    private final EntityManager em;
+
+    @Value("${app.team.member-batch-size:100}")
+    private int memberBatchSize;
+
+    @Override
+    public void fetchMemberLists(List<Team> teams) {
+        TeamMemberListFetcher.fetch(em, teams, memberBatchSize);
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.minwoo.springdatajpa.sql;
+
+import com.minwoo.springdatajpa.dto.SqlShapeStatsDto;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// p6spy listener - 요청 thread에서는 ring buffer에 넣기만 하고
+// 정규화, 집계(모양별 count / 총 시간 / p99), sampling + rate limit된 sql 로그는 background thread에서 처리
+// show_sql, format_sql, p6spy 기본 로그(모든 sql을 요청 thread에서 formatting)를 끄고 사용(application-prod.yml)
+@Slf4j
+public class AsyncSqlLogger extends JdbcEventListener implements DisposableBean {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_SHAPES = 10_000;
+
+    private final SqlEventRing ring;
+    private final double sampleRate;
+    private final int maxLogsPerSecond;
+    private final ScheduledExecutorService executor;
+
+    // 아래는 background thread만 사용
+    private final Map<String, String> shapes = new HashMap<>();
+    private final Map<String, SqlShapeStats> stats = new HashMap<>();
+    private long logWindowStart;
+    private int logsInWindow;
+
+    private volatile List<SqlShapeStatsDto> snapshot = List.of();
+
+    public AsyncSqlLogger(int bufferSize, double sampleRate, int maxLogsPerSecond, Duration summaryInterval) {
+        this.ring = new SqlEventRing(bufferSize);
+        this.sampleRate = sampleRate;
+        this.maxLogsPerSecond = maxLogsPerSecond;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "async-sql-logger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::drain, 100, 100, TimeUnit.MILLISECONDS);
+        executor.scheduleAtFixedRate(this::summary, summaryInterval.toMillis(), summaryInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        ring.offer(new SqlEvent(statementInformation.getSql(), timeElapsedNanos, e != null));
+    }
+
+    // 총 실행 시간 순
+    public List<SqlShapeStatsDto> getStats() {
+        return snapshot;
+    }
+
+    public long getDropped() {
+        return ring.dropped();
+    }
+
+    private void drain() {
+        try {
+            ring.drain(this::record);
+            snapshot = stats.entrySet().stream()
+                            .sorted(Comparator.comparingLong((Map.Entry<String, SqlShapeStats> entry) -> entry.getValue().totalNanos()).reversed())
+                            .map(entry -> new SqlShapeStatsDto(entry.getKey(),
+                                                               entry.getValue().count(),
+                                                               entry.getValue().failed(),
+                                                               entry.getValue().totalNanos() / 1_000_000.0,
+                                                               entry.getValue().p99Nanos() / 1_000_000.0))
+                            .toList();
+        } catch (RuntimeException e) {
+            log.warn("sql log drain failed", e); // 예외로 scheduler가 멈추지 않도록
+        }
+    }
+
+    private void record(SqlEvent event) {
+        if (event.sql == null) {
+            return;
+        }
+        String shape = shapes.get(event.sql);
+        if (shape == null) {
+            shape = normalize(event.sql);
+            if (shapes.size() < MAX_SHAPES) {
+                shapes.put(event.sql, shape);
+            }
+        }
+        stats.computeIfAbsent(shape, key -> new SqlShapeStats()).record(event);
+
+        if (log.isInfoEnabled() && sampled()) {
+            log.info("{} ms | {}", event.elapsedNanos / 1_000_000.0, shape);
+        }
+    }
+
+    // sampleRate 확률로 뽑은 뒤 초당 maxLogsPerSecond개까지만 로그
+    private boolean sampled() {
+        if (ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return false;
+        }
+        long now = System.nanoTime();
+        if (now - logWindowStart >= TimeUnit.SECONDS.toNanos(1)) {
+            logWindowStart = now;
+            logsInWindow = 0;
+        }
+        return logsInWindow++ < maxLogsPerSecond;
+    }
+
+    private void summary() {
+        List<SqlShapeStatsDto> current = snapshot;
+        log.info("sql summary - {} shapes, {} dropped", current.size(), ring.dropped());
+        current.stream()
+               .limit(10)
+               .forEach(stat -> log.info("  count={} total={}ms p99<={}ms | {}", stat.getCount(), stat.getTotalMillis(), stat.getP99Millis(), stat.getSql()));
+    }
+
+    static String normalize(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+}
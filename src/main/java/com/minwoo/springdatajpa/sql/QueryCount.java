@@ -0,0 +1,38 @@
+package com.minwoo.springdatajpa.sql;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 한 범위(http 요청, transaction, test) 안에서 실행된 sql 수
+// hibernate sql은 parameter가 ?로 들어오므로 같은 문자열 = 같은 모양(parameter만 다른) 쿼리
+public class QueryCount {
+
+    private long total;
+    private final Map<String, Integer> statements = new LinkedHashMap<>();
+
+    void record(String sql) {
+        total++;
+        statements.merge(sql, 1, Integer::sum);
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    // threshold번 이상 반복된 쿼리 -> N + 1 의심
+    public Map<String, Integer> getRepeated(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        statements.forEach((sql, count) -> {
+            if (count >= threshold) {
+                repeated.put(sql, count);
+            }
+        });
+        return repeated;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryCount{total=" + total + ", statements=" + statements.size() + "}";
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.minwoo.springdatajpa.sql;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class QueryCountConfig {
+
+    @Bean
+    public QueryCountInspector queryCountInspector(@Value("${app.query-count.repeat-threshold:3}") int repeatThreshold) {
+        return new QueryCountInspector(repeatThreshold);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountInspectorCustomizer(QueryCountInspector inspector) {
+        return properties -> properties.put("hibernate.session_factory.statement_inspector", inspector);
+    }
+
+    @Bean
+    public QueryCountFilter queryCountFilter(QueryCountInspector inspector) {
+        return new QueryCountFilter(inspector);
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.minwoo.springdatajpa.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// http 요청 하나에서 실행된 sql 수(ex. /members 에서 MemberDto::new가 team을 lazy 조회하는 N + 1)
+@RequiredArgsConstructor
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final QueryCountInspector inspector;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        QueryCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            inspector.report(request.getMethod() + " " + request.getRequestURI(), QueryCounter.stop());
+        }
+    }
+
+}
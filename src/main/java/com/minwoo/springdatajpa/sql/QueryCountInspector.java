@@ -0,0 +1,66 @@
+package com.minwoo.springdatajpa.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// hibernate가 statement를 준비할 때마다 호출됨 -> 현재 thread의 범위와 transaction 단위로 sql 수를 기록
+// (sql은 바꾸지 않고 그대로 반환)
+@Slf4j
+public class QueryCountInspector implements StatementInspector {
+
+    private static final Object TRANSACTION_KEY = QueryCountInspector.class.getName() + ".TRANSACTION";
+
+    private final int repeatThreshold;
+
+    public QueryCountInspector(int repeatThreshold) {
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.record(sql);
+        recordTransaction(sql);
+        return sql;
+    }
+
+    private void recordTransaction(String sql) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        QueryCount count = (QueryCount) TransactionSynchronizationManager.getResource(TRANSACTION_KEY);
+        if (count == null) {
+            QueryCount transactionCount = new QueryCount();
+            TransactionSynchronizationManager.bindResource(TRANSACTION_KEY, transactionCount);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                // REQUIRES_NEW 등으로 transaction이 중단되면 바깥 transaction의 count를 잠시 내려둠
+                @Override
+                public void suspend() {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_KEY);
+                }
+
+                @Override
+                public void resume() {
+                    TransactionSynchronizationManager.bindResource(TRANSACTION_KEY, transactionCount);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_KEY);
+                    report("transaction " + TransactionSynchronizationManager.getCurrentTransactionName(), transactionCount);
+                }
+            });
+            count = transactionCount;
+        }
+        count.record(sql);
+    }
+
+    void report(String scope, QueryCount count) {
+        log.debug("[{}] {} queries", scope, count.getTotal());
+        count.getRepeated(repeatThreshold)
+             .forEach((sql, times) -> log.warn("[{}] N + 1 suspected - same query executed {} times: {}", scope, times, sql));
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.minwoo.springdatajpa.sql;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+// 현재 thread에서 시작된 범위(start ~ stop)마다 sql 수를 셈 / 범위는 중첩 가능
+public final class QueryCounter {
+
+    private static final ThreadLocal<Deque<QueryCount>> SCOPES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private QueryCounter() {
+    }
+
+    public static QueryCount start() {
+        QueryCount count = new QueryCount();
+        SCOPES.get().push(count);
+        return count;
+    }
+
+    public static QueryCount stop() {
+        Deque<QueryCount> scopes = SCOPES.get();
+        QueryCount count = scopes.pop();
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+        return count;
+    }
+
+    // repository 호출 하나의 sql 수 확인용
+    public static QueryCount count(Runnable work) {
+        QueryCount count = start();
+        try {
+            work.run();
+        } finally {
+            stop();
+        }
+        return count;
+    }
+
+    static void record(String sql) {
+        Deque<QueryCount> scopes = SCOPES.get();
+        if (scopes.isEmpty()) {
+            SCOPES.remove();
+            return;
+        }
+        for (QueryCount count : scopes) {
+            count.record(sql);
+        }
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.minwoo.springdatajpa.sql;
+
+// 요청 thread에서는 sql 문자열 참조와 실행 시간만 담아서 넘김(formatting은 background thread)
+final class SqlEvent {
+
+    final String sql;
+    final long elapsedNanos;
+    final boolean failed;
+    long sequence; // SqlEventRing.offer에서 slot에 넣기 전에 기록(AtomicReferenceArray 쓰기로 drain thread에 보임)
+
+    SqlEvent(String sql, long elapsedNanos, boolean failed) {
+        this.sql = sql;
+        this.elapsedNanos = elapsedNanos;
+        this.failed = failed;
+    }
+
+}
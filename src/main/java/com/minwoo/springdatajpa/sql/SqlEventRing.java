@@ -0,0 +1,57 @@
+package com.minwoo.springdatajpa.sql;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// lock 없는 고정 크기 ring buffer - 여러 요청 thread가 넣고 background thread 하나가 꺼냄
+// 소비가 밀려서 한 바퀴 돌면 오래된 event를 덮어쓰고 dropped로 셈(요청 thread는 기다리지 않음)
+final class SqlEventRing {
+
+    private final AtomicReferenceArray<SqlEvent> slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private long tail; // drain thread만 사용
+
+    SqlEventRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1; // 2의 제곱수로 올림
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    void offer(SqlEvent event) {
+        long sequence = head.getAndIncrement();
+        event.sequence = sequence;
+        if (slots.getAndSet((int) (sequence & mask), event) != null) {
+            dropped.increment();
+        }
+    }
+
+    // slot의 event.sequence로 그 자리가 이번 sequence인지 확인
+    // head는 증가했지만 아직 slot에 쓰지 않은 event(claim 후 getAndSet 전)를 만나면 거기서 멈추고 다음 drain에서 이어서 읽음
+    void drain(Consumer<SqlEvent> consumer) {
+        long end = head.get();
+        long sequence = Math.max(tail, end - slots.length());
+        for (; sequence < end; sequence++) {
+            int index = (int) (sequence & mask);
+            SqlEvent event = slots.get(index);
+            if (event == null || event.sequence < sequence) {
+                break; // 아직 쓰는 중
+            }
+            if (event.sequence > sequence) {
+                continue; // 다음 바퀴의 event가 덮어씀(덮어쓴 쪽에서 dropped로 셈) - 그 event는 다음 drain 범위
+            }
+            if (slots.compareAndSet(index, event, null)) {
+                consumer.accept(event);
+            }
+        }
+        tail = sequence;
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+}
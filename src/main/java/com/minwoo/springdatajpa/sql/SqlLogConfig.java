@@ -0,0 +1,23 @@
+package com.minwoo.springdatajpa.sql;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// p6spy starter가 JdbcEventListener bean을 찾아서 등록함
+@Configuration
+@ConditionalOnProperty(prefix = "app.sql-log", name = "enabled", havingValue = "true")
+public class SqlLogConfig {
+
+    @Bean
+    public AsyncSqlLogger asyncSqlLogger(@Value("${app.sql-log.buffer-size:8192}") int bufferSize,
+                                         @Value("${app.sql-log.sample-rate:0.01}") double sampleRate,
+                                         @Value("${app.sql-log.max-logs-per-second:10}") int maxLogsPerSecond,
+                                         @Value("${app.sql-log.summary-interval:1m}") Duration summaryInterval) {
+        return new AsyncSqlLogger(bufferSize, sampleRate, maxLogsPerSecond, summaryInterval);
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.minwoo.springdatajpa.sql;
+
+// 같은 모양(parameter, literal을 ?로 바꾼) 쿼리의 누적 통계 - background thread만 갱신
+final class SqlShapeStats {
+
+    private final long[] buckets = new long[65]; // 실행 시간(ns)을 2의 거듭제곱 구간으로 나눈 histogram
+    private long count;
+    private long failed;
+    private long totalNanos;
+
+    void record(SqlEvent event) {
+        count++;
+        totalNanos += event.elapsedNanos;
+        if (event.failed) {
+            failed++;
+        }
+        buckets[64 - Long.numberOfLeadingZeros(Math.max(0, event.elapsedNanos))]++;
+    }
+
+    long count() {
+        return count;
+    }
+
+    long failed() {
+        return failed;
+    }
+
+    long totalNanos() {
+        return totalNanos;
+    }
+
+    // 구간의 상한값이라 최대 2배까지 크게 나올 수 있는 근사치
+    long p99Nanos() {
+        long threshold = (long) Math.ceil(count * 0.99);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= threshold) {
+                return i == 0 ? 0 : (i >= 63 ? Long.MAX_VALUE : 1L << i);
+            }
+        }
+        return 0;
+    }
+
+}
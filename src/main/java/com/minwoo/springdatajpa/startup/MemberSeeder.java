@@ -0,0 +1,82 @@
+package com.minwoo.springdatajpa.startup;
+
+import com.minwoo.springdatajpa.entity.Member;
+import com.minwoo.springdatajpa.repository.MemberBulkRepository;
+import com.minwoo.springdatajpa.repository.MemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 예제 member 저장 - MemberController의 @PostConstruct(bean 생성 중 main thread)에서 옮김
+// 기동이 끝난 뒤 실행되고 app.seed.async=true면 applicationTaskExecutor에서 실행(요청을 받기 시작하는 시점을 막지 않음)
+// 이미 member가 있으면(ddl-auto: none 등으로 schema/data를 유지) 저장하지 않음
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.seed", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MemberSeeder implements ApplicationRunner {
+
+    private final MemberRepository memberRepository;
+    private final MemberBulkRepository memberBulkRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+
+    @Value("${app.seed.count:30}")
+    private int count;
+
+    @Value("${app.seed.async:false}")
+    private boolean async;
+
+    public MemberSeeder(MemberRepository memberRepository,
+                        MemberBulkRepository memberBulkRepository,
+                        PlatformTransactionManager transactionManager,
+                        @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor) {
+        this.memberRepository = memberRepository;
+        this.memberBulkRepository = memberBulkRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!async) {
+            seed();
+            return;
+        }
+        taskExecutor.execute(() -> {
+            try {
+                seed();
+            } catch (RuntimeException e) {
+                log.error("member seeding failed", e);
+            }
+        });
+    }
+
+    // bootstrap-mode: deferred면 EntityManagerFactory가 준비될 때까지 여기서 기다림
+    private void seed() {
+        long start = System.nanoTime();
+        Integer saved = transactionTemplate.execute(status -> {
+            if (memberRepository.count() > 0) {
+                return 0;
+            }
+            List<Member> members = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                members.add(new Member("member" + i, i));
+            }
+            memberBulkRepository.saveAllMembers(members);
+            return members.size();
+        });
+        log.info("seeded {} members in {} ms", saved, (System.nanoTime() - start) / 1_000_000);
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.minwoo.springdatajpa.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// 기동 시간 breakdown 로그 - 요청을 받을 수 있게 된 시점(ApplicationReadyEvent)에 한 번
+// step 기록은 SpringDataJpaApplication.main에서 BufferingApplicationStartup을 설정했을 때만 남음(test 등에서는 전체 시간만)
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.startup", name = "report", havingValue = "true")
+public class StartupTimingReporter implements ApplicationListener<ApplicationReadyEvent> {
+
+    @Value("${app.startup.top-steps:10}")
+    private int topSteps;
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        long jvmUptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        log.info("startup - ready in {} ms (spring {} ms, jvm start {} ms)",
+                 jvmUptime, millis(event.getTimeTaken()), jvmUptime - millis(event.getTimeTaken()));
+
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (!(startup instanceof BufferingApplicationStartup buffering)) {
+            return;
+        }
+        List<StartupTimeline.TimelineEvent> events = buffering.getBufferedTimeline().getEvents();
+
+        // 단계(step 이름)별 합계 - 중첩된 step은 바깥 단계에도 포함됨
+        Map<String, Duration> phases = events.stream()
+                                             .collect(Collectors.toMap(e -> e.getStartupStep().getName(),
+                                                                       StartupTimeline.TimelineEvent::getDuration,
+                                                                       Duration::plus));
+        log.info("startup phases");
+        phases.entrySet().stream()
+              .sorted(Map.Entry.<String, Duration>comparingByValue().reversed())
+              .limit(topSteps)
+              .forEach(entry -> log.info("  {} ms - {}", millis(entry.getValue()), entry.getKey()));
+
+        // 오래 걸린 step 하나하나(bean 생성이면 beanName tag)
+        log.info("slowest startup steps");
+        events.stream()
+              .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+              .limit(topSteps)
+              .forEach(e -> log.info("  {} ms - {} {}", millis(e.getDuration()), e.getStartupStep().getName(), tags(e.getStartupStep())));
+    }
+
+    private static String tags(StartupStep step) {
+        StringBuilder tags = new StringBuilder();
+        for (StartupStep.Tag tag : step.getTags()) {
+            tags.append(tag.getKey()).append('=').append(tag.getValue()).append(' ');
+        }
+        return tags.toString().trim();
+    }
+
+    private static long millis(Duration duration) {
+        return duration.toMillis();
+    }
+
+}
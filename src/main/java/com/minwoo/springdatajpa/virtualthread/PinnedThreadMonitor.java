@@ -0,0 +1,86 @@
+package com.minwoo.springdatajpa.virtualthread;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+// virtual thread가 synchronized 안에서 blocking(socket read 등)되면 carrier thread를 놓지 못함(pinning)
+// -> carrier 수(cpu 수)만큼만 동시에 진행됨. mysql-connector-j 8.x는 statement 실행을 synchronized로 감싸서 주로 여기서 발생
+// jfr jdk.VirtualThreadPinned event를 process 안에서 구독해서 원인 frame(jdk 밖의 첫 frame)별로 집계 / 처음 본 원인은 stack trace를 로그
+@Slf4j
+public class PinnedThreadMonitor implements InitializingBean, DisposableBean {
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOG_FRAMES = 15;
+
+    private final Duration threshold;
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+    private RecordingStream recordingStream;
+
+    public PinnedThreadMonitor(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(EVENT, this::onPinned);
+        recordingStream.startAsync();
+    }
+
+    @Override
+    public void destroy() {
+        recordingStream.close();
+    }
+
+    // 원인 frame -> 횟수
+    public Map<String, Long> getCounts() {
+        return counts.entrySet().stream()
+                     .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().sum(), (a, b) -> a, TreeMap::new));
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<String> frames = event.getStackTrace() == null ? List.of()
+                : event.getStackTrace().getFrames().stream()
+                       .filter(RecordedFrame::isJavaFrame)
+                       .map(PinnedThreadMonitor::frame)
+                       .toList();
+        record(frames, event.getDuration());
+    }
+
+    // event는 recording stream thread 하나에서만 처리됨
+    void record(List<String> frames, Duration duration) {
+        String culprit = culprit(frames);
+        LongAdder count = counts.computeIfAbsent(culprit, key -> new LongAdder());
+        if (count.sum() == 0) {
+            log.warn("virtual thread pinned for {}ms at {}\n    {}", duration.toMillis(), culprit,
+                     frames.stream().limit(LOG_FRAMES).collect(Collectors.joining("\n    ")));
+        }
+        count.increment();
+    }
+
+    // jdk 밖의 첫 frame
+    static String culprit(List<String> frames) {
+        return frames.stream()
+                     .filter(frame -> !frame.startsWith("java.") && !frame.startsWith("jdk.") && !frame.startsWith("sun."))
+                     .findFirst()
+                     .orElse("unknown");
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+}
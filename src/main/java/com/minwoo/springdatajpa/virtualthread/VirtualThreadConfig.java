@@ -0,0 +1,63 @@
+package com.minwoo.springdatajpa.virtualthread;
+
+import com.minwoo.springdatajpa.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// spring.threads.virtual.enabled=true 이고 java 21 이상일 때만 동작(--spring.profiles.active=virtual)
+// tomcat 요청 처리, applicationTaskExecutor(MemberSeeder async, deferred bootstrap, StreamingResponseBody), @Scheduled는 spring boot가 virtual thread로 바꿈
+// 여기서는 thread 수 대신 connection 요청을 제한하고 pinning을 감시
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    // 실제 pool마다 감쌈 - replica routing이면 dataSource는 LazyConnectionDataSourceProxy(논리 connection)라
+    // 감싸면 쿼리 없는 transaction도 permit을 잡고 모든 pool을 primary 크기 하나로 제한함 -> routing 대상(primary, replica)을 각각 감쌈
+    @Bean
+    @ConditionalOnProperty(prefix = "app.virtual-threads.connection-admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor connectionAdmissionPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ReplicaRoutingDataSource routing) {
+                    routing.decorateTargets(pool -> admission(pool, environment));
+                    return bean;
+                }
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource) || bean instanceof DelegatingDataSource) {
+                    return bean;
+                }
+                return admission(dataSource, environment);
+            }
+        };
+    }
+
+    // permits가 0이면 감싸는 pool의 maximumPoolSize(hikari가 아니면 spring.datasource.hikari.maximum-pool-size)
+    private static ConnectionAdmissionDataSource admission(DataSource pool, Environment environment) {
+        int permits = environment.getProperty("app.virtual-threads.connection-admission.permits", Integer.class, 0);
+        if (permits <= 0) {
+            permits = pool instanceof HikariDataSource hikari
+                    ? hikari.getMaximumPoolSize()
+                    : environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        }
+        Duration acquireTimeout = environment.getProperty("app.virtual-threads.connection-admission.acquire-timeout", Duration.class, Duration.ofSeconds(3));
+        return new ConnectionAdmissionDataSource(pool, permits, acquireTimeout);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.virtual-threads.pinning", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public PinnedThreadMonitor pinnedThreadMonitor(@Value("${app.virtual-threads.pinning.threshold:20ms}") Duration threshold) {
+        return new PinnedThreadMonitor(threshold);
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.minwoo.springdatajpa.controller;
+
+import com.minwoo.springdatajpa.dto.MemberCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MemberControllerTest {
+
+    // cursor 검증은 repository 호출 전 - repository 없이 확인
+    MemberController memberController = new MemberController(null);
+
+    @Test
+    void keysetCursorMismatchIsBadRequest() {
+        String byId = MemberCursor.encode(ScrollPosition.forward(Map.of("id", 10L)));
+
+        assertThatThrownBy(() -> memberController.listByKeyset("username", byId, 5))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThatThrownBy(() -> memberController.listByKeyset("id", "not-a-cursor", 5))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+}
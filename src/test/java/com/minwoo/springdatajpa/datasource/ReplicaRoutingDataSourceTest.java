@@ -0,0 +1,86 @@
+package com.minwoo.springdatajpa.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// mysql 없이 h2 두 개(primary, replica)로 routing 확인
+class ReplicaRoutingDataSourceTest {
+
+    EmbeddedDatabase primary;
+    EmbeddedDatabase replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void readOnlyTransactionGoesToReplica() {
+        JdbcTemplate jdbcTemplate = jdbcTemplate(Duration.ZERO);
+        TransactionTemplate transaction = transaction(jdbcTemplate);
+
+        transaction.setReadOnly(true);
+        assertThat(transaction.execute(status -> node(jdbcTemplate))).isEqualTo("replica");
+
+        transaction.setReadOnly(false);
+        assertThat(transaction.execute(status -> node(jdbcTemplate))).isEqualTo("primary");
+
+        // transaction 밖은 primary
+        assertThat(node(jdbcTemplate)).isEqualTo("primary");
+    }
+
+    @Test
+    void fallbackToPrimaryWhenLagUnknown() {
+        // h2에는 SHOW REPLICA STATUS가 없음 -> 지연 확인 실패 -> primary 사용
+        JdbcTemplate jdbcTemplate = jdbcTemplate(Duration.ofSeconds(1));
+        TransactionTemplate transaction = transaction(jdbcTemplate);
+        transaction.setReadOnly(true);
+
+        assertThat(transaction.execute(status -> node(jdbcTemplate))).isEqualTo("primary");
+    }
+
+    private JdbcTemplate jdbcTemplate(Duration maxLag) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), maxLag, Duration.ofSeconds(5));
+        routing.afterPropertiesSet();
+        return new JdbcTemplate(new LazyConnectionDataSourceProxy(routing));
+    }
+
+    private static TransactionTemplate transaction(JdbcTemplate jdbcTemplate) {
+        return new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+    }
+
+    private static String node(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2)
+                                                                 .generateUniqueName(true)
+                                                                 .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("create table node (name varchar(20))");
+        jdbcTemplate.update("insert into node (name) values (?)", name);
+        return database;
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.minwoo.springdatajpa.dto;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MemberCursorTest {
+
+    @Test
+    void roundTrip() {
+        String byId = MemberCursor.encode(ScrollPosition.forward(Map.of("id", 10L)));
+        String byUsername = MemberCursor.encode(ScrollPosition.forward(Map.of("username", "member:1", "id", 11L)));
+
+        assertThat(MemberCursor.decode(byId, MemberCursor.ID).getKeys()).isEqualTo(Map.of("id", 10L));
+        assertThat(MemberCursor.decode(byUsername, MemberCursor.USERNAME).getKeys()).isEqualTo(Map.of("username", "member:1", "id", 11L));
+        assertThat(MemberCursor.encode(ScrollPosition.keyset())).isNull();
+        assertThat(MemberCursor.decode(null, MemberCursor.USERNAME).isInitial()).isTrue();
+    }
+
+    @Test
+    void nullUsername() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("username", null);
+        keys.put("id", 12L);
+
+        KeysetScrollPosition decoded = MemberCursor.decode(MemberCursor.encode(ScrollPosition.forward(keys)), MemberCursor.USERNAME);
+
+        assertThat(decoded.getKeys()).containsEntry("username", null).containsEntry("id", 12L);
+
+        // 빈 문자열과 null은 구분
+        String empty = MemberCursor.encode(ScrollPosition.forward(Map.of("username", "", "id", 12L)));
+        assertThat(MemberCursor.decode(empty, MemberCursor.USERNAME).getKeys()).containsEntry("username", "");
+    }
+
+    @Test
+    void keysetMismatch() {
+        String byId = MemberCursor.encode(ScrollPosition.forward(Map.of("id", 10L)));
+        String byUsername = MemberCursor.encode(ScrollPosition.forward(Map.of("username", "member1", "id", 11L)));
+
+        assertThatThrownBy(() -> MemberCursor.decode(byId, MemberCursor.USERNAME)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MemberCursor.decode(byUsername, MemberCursor.ID)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MemberCursor.decode("not-a-cursor", MemberCursor.ID)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
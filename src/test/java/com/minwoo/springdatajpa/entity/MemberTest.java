@@ -2,6 +2,7 @@ package com.minwoo.springdatajpa.entity;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Rollback;
@@ -9,6 +10,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 @SpringBootTest
 @Transactional
 @Rollback(value = false)
@@ -44,4 +47,53 @@ class MemberTest {
         }
     }
 
-}
\ No newline at end of file
+    // 초기화되지 않은 memberList(lazy proxy, 준영속)는 changeTeam에서 로딩하지 않고, 다시 조회하면 중복 없이 한 번만 들어있음
+    @Test
+    @Rollback
+    public void changeTeamKeepsMemberListLazy() {
+        Team teamA = new Team("lazyTeamA");
+        Team teamB = new Team("lazyTeamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        Member member = new Member("lazyMember", 10, teamA);
+        em.persist(member);
+        em.flush();
+        em.clear();
+
+        // 준영속 team
+        Team detached = em.find(Team.class, teamA.getId());
+        em.detach(detached);
+        Member other = new Member("lazyOther", 10, detached);
+        assertThat(Hibernate.isInitialized(detached.getMemberList())).isFalse();
+        assertThat(other.getTeam()).isSameAs(detached);
+
+        // 영속 member를 lazy proxy team으로 이동
+        Member found = em.find(Member.class, member.getId());
+        Team lazyTeamB = em.getReference(Team.class, teamB.getId());
+        found.changeTeam(lazyTeamB);
+        assertThat(Hibernate.isInitialized(lazyTeamB)).isFalse();
+        assertThat(Hibernate.isInitialized(found.getTeam())).isFalse();
+
+        em.flush();
+        em.clear();
+
+        assertThat(em.find(Team.class, teamA.getId()).getMemberList()).isEmpty();
+        assertThat(em.find(Team.class, teamB.getId()).getMemberList()).extracting(Member::getId).containsExactly(member.getId());
+    }
+
+    // 초기화된 memberList(새 entity)는 바로 맞추고 같은 team으로 다시 바꿔도 중복되지 않음
+    @Test
+    public void changeTeamInMemory() {
+        Team teamA = new Team("memoryTeamA");
+        Team teamB = new Team("memoryTeamB");
+        Member member = new Member("memoryMember", 10, teamA);
+
+        member.changeTeam(teamA);
+        assertThat(teamA.getMemberList()).containsExactly(member);
+
+        member.changeTeam(teamB);
+        assertThat(teamA.getMemberList()).isEmpty();
+        assertThat(teamB.getMemberList()).containsExactly(member);
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.minwoo.springdatajpa.reactive;
+
+import com.minwoo.springdatajpa.dto.MemberDto;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.UUID;
+
+// mysql 없이 h2 r2dbc로 조회 / backpressure 확인
+class MemberReactiveRepositoryTest {
+
+    MemberReactiveRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1");
+        DatabaseClient databaseClient = DatabaseClient.create(connectionFactory);
+
+        databaseClient.sql("create table team (team_id bigint primary key, name varchar(255))").then().block();
+        databaseClient.sql("create table member (member_id bigint primary key, username varchar(255), team_id bigint)").then().block();
+        databaseClient.sql("insert into team values (1, 'teamA')").then().block();
+        for (long id = 1; id <= 10; id++) {
+            databaseClient.sql("insert into member values (:id, :username, :teamId)")
+                          .bind("id", id)
+                          .bind("username", "member" + id)
+                          .bind("teamId", id % 2 == 0 ? 1L : 99L) // 홀수는 team 없음
+                          .then()
+                          .block();
+        }
+
+        repository = new MemberReactiveRepository(databaseClient, 2);
+    }
+
+    @Test
+    void findDtoById() {
+        StepVerifier.create(repository.findDtoById(2L))
+                    .expectNext(new MemberDto(2L, "member2", "teamA"))
+                    .verifyComplete();
+
+        StepVerifier.create(repository.findDtoById(3L))
+                    .expectNext(new MemberDto(3L, "member3", null))
+                    .verifyComplete();
+
+        StepVerifier.create(repository.findDtoById(100L))
+                    .verifyComplete();
+    }
+
+    @Test
+    void findDtoByUsername() {
+        StepVerifier.create(repository.findDtoByUsername("member4"))
+                    .expectNext(new MemberDto(4L, "member4", "teamA"))
+                    .verifyComplete();
+    }
+
+    @Test
+    void findDtoAfter() {
+        StepVerifier.create(repository.findDtoAfter(null, 3).map(MemberDto::getId))
+                    .expectNext(1L, 2L, 3L)
+                    .verifyComplete();
+
+        StepVerifier.create(repository.findDtoAfter(8L, 5).map(MemberDto::getId))
+                    .expectNext(9L, 10L)
+                    .verifyComplete();
+    }
+
+    // subscriber가 요청한 만큼만 내려오고 중간에 취소 가능
+    @Test
+    void backpressure() {
+        StepVerifier.create(repository.findAllDto().map(MemberDto::getId), 0)
+                    .expectSubscription()
+                    .expectNoEvent(Duration.ofMillis(50))
+                    .thenRequest(1)
+                    .expectNext(1L)
+                    .thenRequest(2)
+                    .expectNext(2L, 3L)
+                    .thenCancel()
+                    .verify();
+    }
+
+}
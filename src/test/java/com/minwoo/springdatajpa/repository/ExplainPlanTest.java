@@ -0,0 +1,230 @@
+package com.minwoo.springdatajpa.repository;
+
+import com.minwoo.springdatajpa.entity.Member;
+import com.minwoo.springdatajpa.entity.Team;
+import com.minwoo.springdatajpa.sql.SqlCapture;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// MemberRepository / MemberJpaRepository query를 실제로 실행해서 나간 sql을 EXPLAIN
+// type = ALL(full table scan)이거나 Extra에 Using filesort가 있으면 실패 - index를 지우거나 query를 바꿔서 회귀하면 여기서 잡힘
+// 전체를 읽는 것이 목적인 query(findAll 등)는 FULL_SCAN으로 따로 표시
+// 통계가 있어야 optimizer가 index를 고르므로 member를 충분히 넣고 analyze table 후 실행(test transaction 없음)
+@SpringBootTest
+@Import(SqlCapture.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ExplainPlanTest {
+
+    private static final int MEMBERS = 2000;
+    private static final int AGE = 5000; // 다른 test 데이터와 겹치지 않는 나이(5000 ~ 5049)
+    private static final Pattern LOCK_CLAUSE = Pattern.compile("(?i)\\s+for\\s+update(\\s+nowait|\\s+skip\\s+locked)?\\s*$");
+    // insert / set session ... / explain ... 는 읽는 경로(index)가 없음 - EXPLAIN 검사 대상이 아님
+    private static final Pattern EXPLAINABLE = Pattern.compile("(?is)^\\s*(select|update|delete)\\b.*");
+
+    // 전체를 읽는 query - EXPLAIN 검사 대상이 아님
+    private static final Set<String> FULL_SCAN = Set.of("findAll", "findAllEntityGraph", "findByUsernameList", "findMemberDto",
+                                                        "streamMemberDto", "findMemberFetchJoin", "findByAge",
+                                                        "findByNativeQueryByProjection", "findProjectionContent", "findMembersByCustom",
+                                                        "countAll", "jpa.findAll");
+
+    // query가 아닌 method(em.persist/find/remove)
+    private static final Set<String> NOT_QUERY = Set.of("save", "find", "findById", "delete");
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired MemberJpaRepository memberJpaRepository;
+    @Autowired MemberBulkRepository memberBulkRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired PlatformTransactionManager transactionManager;
+    @PersistenceContext EntityManager entityManager;
+
+    Long memberId; // explain7
+
+    @BeforeAll
+    void seed() {
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            teams.add(new Team("explainTeam" + i));
+        }
+        memberBulkRepository.saveAllTeams(teams);
+
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < MEMBERS; i++) {
+            members.add(new Member("explain" + i, AGE + i % 50, teams.get(i % teams.size())));
+        }
+        memberBulkRepository.saveAllMembers(members);
+
+        jdbcTemplate.execute("analyze table member, team");
+        memberId = jdbcTemplate.queryForObject("select member_id from member where username = 'explain7'", Long.class);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("delete from member where username like 'explain%'");
+        jdbcTemplate.update("delete from team where name like 'explainTeam%'");
+    }
+
+    @Test
+    void explain() {
+        List<String> failures = new ArrayList<>();
+        cases().forEach((name, query) -> {
+            List<String> sqls = run(query);
+            assertThat(sqls).as(name + " executed no sql").isNotEmpty();
+            if (FULL_SCAN.contains(name)) {
+                return;
+            }
+            for (String sql : sqls) {
+                if (!EXPLAINABLE.matcher(sql).matches()) {
+                    continue;
+                }
+                for (Map<String, Object> row : jdbcTemplate.queryForList("explain " + LOCK_CLAUSE.matcher(sql).replaceFirst(""))) {
+                    String extra = String.valueOf(row.get("Extra"));
+                    if ("ALL".equals(row.get("type")) || extra.contains("Using filesort")) {
+                        failures.add(name + " - table " + row.get("table") + ", type " + row.get("type") +
+                                     ", key " + row.get("key") + ", " + extra + "\n    " + sql);
+                    }
+                }
+            }
+        });
+
+        assertThat(failures).as("full table scan / filesort").isEmpty();
+    }
+
+    // query method를 추가하면 여기(cases)에도 추가해야 함
+    @Test
+    void everyQueryHasCase() {
+        Set<String> names = cases().keySet();
+
+        Set<String> repositoryMethods = queryMethods(MemberRepository.class);
+        Set<String> jpaRepositoryMethods = Arrays.stream(MemberJpaRepository.class.getDeclaredMethods())
+                                                 .filter(method -> Modifier.isPublic(method.getModifiers()))
+                                                 .map(Method::getName)
+                                                 .filter(name -> !NOT_QUERY.contains(name))
+                                                 .map(name -> "jpa." + name)
+                                                 .collect(Collectors.toSet());
+
+        assertThat(names).containsAll(repositoryMethods);
+        assertThat(names).containsAll(jpaRepositoryMethods);
+    }
+
+    // fragment(MemberCustomRepository, StatelessBulkRepository)까지 포함 - JpaRepository 쪽 기본 method는 제외
+    // 이름이 겹치는(overload) method는 name(Type, Type) 형태로 각각 case가 있어야 함
+    private static Set<String> queryMethods(Class<?> repository) {
+        List<Method> methods = Arrays.stream(repository.getMethods())
+                                     .filter(method -> !method.isDefault() && !Modifier.isStatic(method.getModifiers()))
+                                     .filter(method -> !method.getDeclaringClass().isAssignableFrom(JpaRepository.class))
+                                     .toList();
+        Map<String, Long> overloads = methods.stream()
+                                             .collect(Collectors.groupingBy(Method::getName, Collectors.counting()));
+
+        return methods.stream()
+                      .map(method -> overloads.get(method.getName()) == 1 ? method.getName() : signature(method))
+                      .collect(Collectors.toSet());
+    }
+
+    private static String signature(Method method) {
+        return Arrays.stream(method.getParameterTypes())
+                     .map(Class::getSimpleName)
+                     .collect(Collectors.joining(", ", method.getName() + "(", ")"));
+    }
+
+    private Map<String, Runnable> cases() {
+        String username = "explain7";
+        int age = AGE + 7;
+        PageRequest byUsernameDesc = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "username"));
+
+        Map<String, Runnable> cases = new LinkedHashMap<>();
+        cases.put("findByUsernameAndAgeGreaterThan", () -> memberRepository.findByUsernameAndAgeGreaterThan(username, 1));
+        cases.put("findByUsername", () -> memberRepository.findByUsername(username));
+        cases.put("findUser", () -> memberRepository.findUser(username, 1));
+        cases.put("findByUsernameList", () -> memberRepository.findByUsernameList());
+        cases.put("findMemberDto", () -> memberRepository.findMemberDto());
+        cases.put("streamMemberDto", () -> memberRepository.streamMemberDto().close());
+        cases.put("findListByUsername", () -> memberRepository.findListByUsername(username));
+        cases.put("findMemberByUsername", () -> memberRepository.findMemberByUsername(username));
+        cases.put("findOptionalByUsername", () -> memberRepository.findOptionalByUsername(username));
+        cases.put("findByAge", () -> memberRepository.findByAge(age, PageRequest.of(0, 10)));
+        cases.put("findSliceByAge", () -> memberRepository.findSliceByAge(age, byUsernameDesc));
+        cases.put("findContentByAge", () -> memberRepository.findContentByAge(age, byUsernameDesc));
+        cases.put("bulkAgePlus(int)", () -> memberRepository.bulkAgePlus(age));
+        cases.put("bulkAgePlus(int, EvictMode)", () -> {
+            memberRepository.findByUsername(username); // 영속 Member가 있어야 대상 id 조회가 나감
+            memberRepository.bulkAgePlus(age, EvictMode.REFRESH);
+        });
+        cases.put("findMemberFetchJoin", () -> memberRepository.findMemberFetchJoin());
+        cases.put("findAll", () -> memberRepository.findAll());
+        cases.put("findAllEntityGraph", () -> memberRepository.findAllEntityGraph());
+        cases.put("findAllEntityGraphByUsername", () -> memberRepository.findAllEntityGraphByUsername(username));
+        cases.put("findReadOnlyByUsername", () -> memberRepository.findReadOnlyByUsername(username));
+        cases.put("findLockByUsername(String)", () -> memberRepository.findLockByUsername(username));
+        cases.put("findLockByUsername(String, Duration)", () -> memberRepository.findLockByUsername(username, Duration.ofSeconds(1)));
+        cases.put("findLockNoWaitByUsername", () -> memberRepository.findLockNoWaitByUsername(username));
+        cases.put("findByNativeQuery", () -> memberRepository.findByNativeQuery(username, age));
+        cases.put("findByNativeQueryByProjection", () -> memberRepository.findByNativeQueryByProjection(PageRequest.of(0, 10)));
+        cases.put("findProjectionContent", () -> memberRepository.findProjectionContent(PageRequest.of(0, 10)));
+        cases.put("findByNames", () -> memberRepository.findByNames(List.of("explain1", "explain2", "explain3")));
+        cases.put("scrollByUsername", () -> memberRepository.scrollByUsername(ScrollPosition.keyset(), 10));
+        cases.put("scrollByUsernameAfter", () -> memberRepository.scrollByUsername(
+                ScrollPosition.forward(Map.of("username", "explain998", "id", 0L)), 10));
+        cases.put("scrollById", () -> memberRepository.scrollById(ScrollPosition.forward(Map.of("id", memberId)), 10));
+        cases.put("findMembersByCustom", () -> memberRepository.findMembersByCustom());
+        cases.put("countByAge", () -> memberRepository.countByAge(age, CountMode.EXACT));
+        cases.put("countAll", () -> memberRepository.countAll(CountMode.EXACT));
+        cases.put("increaseAge", () -> {
+            memberRepository.increaseAge(memberId, 1);
+            entityManager.flush(); // rollback 전에 update 실행
+        });
+        cases.put("insertAllStateless", () -> memberRepository.insertAllStateless(List.of(new Member("explainStateless", AGE))));
+        cases.put("updateAllStateless", () -> memberRepository.updateAllStateless(List.of(memberRepository.findById(memberId).get())));
+        cases.put("upsertAllStateless", () -> memberRepository.upsertAllStateless(List.of(memberRepository.findById(memberId).get())));
+        cases.put("scrollStateless", () -> memberRepository.scrollStateless("select m from Member m where m.age = :age", Member.class,
+                                                                            Map.of("age", age), member -> {}));
+
+        cases.put("jpa.findAll", () -> memberJpaRepository.findAll());
+        cases.put("jpa.count", () -> memberJpaRepository.count());
+        cases.put("jpa.findByUsernameAndAgeGreaterThan", () -> memberJpaRepository.findByUsernameAndAgeGreaterThan(username, 1));
+        cases.put("jpa.findByUsernameUseNamedQuery", () -> memberJpaRepository.findByUsernameUseNamedQuery("explain8"));
+        cases.put("jpa.findByPage", () -> memberJpaRepository.findByPage(age, 0, 10));
+        cases.put("jpa.findByPageAfter", () -> memberJpaRepository.findByPageAfter(age, null, null, 10));
+        cases.put("jpa.findByPageAfterCursor", () -> memberJpaRepository.findByPageAfter(age, "explain1957", 1957L, 10));
+        cases.put("jpa.totalCount", () -> memberJpaRepository.totalCount(age));
+        cases.put("jpa.bulkAgePlus", () -> memberJpaRepository.bulkAgePlus(age));
+        return cases;
+    }
+
+    // 변경(bulkAgePlus)은 rollback
+    private List<String> run(Runnable query) {
+        return SqlCapture.capture(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            query.run();
+        }));
+    }
+
+}
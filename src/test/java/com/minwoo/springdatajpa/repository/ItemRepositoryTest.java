@@ -1,20 +1,74 @@
 package com.minwoo.springdatajpa.repository;
 
 import com.minwoo.springdatajpa.entity.Item;
+import com.minwoo.springdatajpa.entity.ItemStatus;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
 class ItemRepositoryTest {
 
     @Autowired ItemRepository itemRepository;
+    @Autowired ItemWorkQueue itemWorkQueue;
 
     @Test
     void save() {
         itemRepository.save(new Item("a"));
     }
 
-}
\ No newline at end of file
+    @Test
+    @Transactional
+    void insertAll() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            items.add(new Item("insert-" + i));
+        }
+
+        itemRepository.insertAll(items);
+
+        assertThat(itemRepository.findById("insert-2499")).isPresent();
+        assertThat(itemRepository.findById("insert-2499").get().isNew()).isFalse();
+    }
+
+    @Test
+    @Transactional
+    void upsertAll() {
+        itemRepository.upsertAll(List.of(new Item("upsert-1"), new Item("upsert-2")));
+        // 같은 id로 다시 들어와도 예외 없이 처리
+        itemRepository.upsertAll(List.of(new Item("upsert-2"), new Item("upsert-3")));
+
+        assertThat(itemRepository.findAllById(List.of("upsert-1", "upsert-2", "upsert-3"))).hasSize(3);
+    }
+
+    // test transaction 없이 실행 - worker thread들이 각자 transaction에서 claim
+    @Test
+    void workQueue() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            items.add(new Item(String.format("queue-%04d", i)));
+        }
+        itemRepository.upsertAll(items);
+        List<String> ids = items.stream().map(Item::getId).toList();
+
+        Queue<String> processed = new ConcurrentLinkedQueue<>();
+        itemWorkQueue.drain(item -> processed.add(item.getId()));
+
+        // 여러 worker가 같은 item을 두 번 처리하지 않음
+        assertThat(processed).containsAll(ids);
+        assertThat(processed).doesNotHaveDuplicates();
+        assertThat(itemRepository.findAllById(ids)).allMatch(item -> item.getStatus() == ItemStatus.DONE);
+
+        itemRepository.deleteAllById(ids);
+    }
+
+}
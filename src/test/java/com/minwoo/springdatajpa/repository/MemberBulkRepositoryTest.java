@@ -0,0 +1,73 @@
+package com.minwoo.springdatajpa.repository;
+
+import com.minwoo.springdatajpa.dto.BulkUpdateProgress;
+import com.minwoo.springdatajpa.entity.Member;
+import com.minwoo.springdatajpa.entity.Team;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberBulkRepositoryTest {
+
+    @Autowired
+    MemberBulkRepository memberBulkRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    void saveAll() {
+        Team teamA = new Team("teamA");
+        memberBulkRepository.saveAllTeams(List.of(teamA));
+
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            members.add(new Member("bulk" + i, i % 50, teamA));
+        }
+        memberBulkRepository.saveAllMembers(members);
+
+        assertThat(teamA.getId()).isNotNull();
+        assertThat(members).allMatch(member -> member.getId() != null);
+
+        Member found = memberRepository.findById(members.get(2499).getId()).get();
+        assertThat(found.getUsername()).isEqualTo("bulk2499");
+        assertThat(found.getTeam().getId()).isEqualTo(teamA.getId());
+        assertThat(found.getCreatedDate()).isNotNull();
+    }
+
+    // chunk마다 새 transaction(REQUIRES_NEW)이므로 test transaction 밖에서 저장된 데이터로 확인
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void chunkedBulkAgePlus() {
+        List<Member> members = List.of(new Member("chunk1", 1000),
+                                       new Member("chunk2", 1000),
+                                       new Member("chunk3", 1000),
+                                       new Member("chunk4", 2000));
+        memberBulkRepository.saveAllMembers(members);
+
+        List<BulkUpdateProgress> progress = new ArrayList<>();
+        int count = memberBulkRepository.bulkAgePlus(1000, 0, progress::add);
+
+        assertThat(count).isEqualTo(3);
+        assertThat(progress).isNotEmpty();
+        assertThat(progress.get(progress.size() - 1).getUpdatedRows()).isEqualTo(3);
+        assertThat(memberRepository.findById(members.get(0).getId()).get().getAge()).isEqualTo(1001);
+
+        // 마지막 위치부터 다시 실행하면 남은 범위가 없음
+        long nextId = progress.get(progress.size() - 1).getNextId();
+        assertThat(memberBulkRepository.bulkAgePlus(1000, nextId, p -> {
+        })).isEqualTo(0);
+
+        memberRepository.deleteAllById(members.stream().map(Member::getId).toList());
+    }
+
+}
@@ -88,6 +88,22 @@ class MemberJpaRepositoryTest {
         }
     }
 
+    @Test
+    void seekPaging() {
+        memberJpaRepository.save(new Member("member1", 10));
+        memberJpaRepository.save(new Member("member2", 10));
+        memberJpaRepository.save(new Member("member3", 10));
+        memberJpaRepository.save(new Member("member4", 10));
+        memberJpaRepository.save(new Member("member5", 10));
+
+        List<Member> first = memberJpaRepository.findByPageAfter(10, null, null, 2);
+        Member last = first.get(first.size() - 1);
+        List<Member> second = memberJpaRepository.findByPageAfter(10, last.getUsername(), last.getId(), 2);
+
+        assertThat(first).extracting("username").containsExactly("member5", "member4");
+        assertThat(second).extracting("username").containsExactly("member3", "member2");
+    }
+
     @Test
     void bulkAgePlus() {
         memberJpaRepository.save(new Member("member1", 10));
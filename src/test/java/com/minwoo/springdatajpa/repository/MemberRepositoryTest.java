@@ -1,28 +1,57 @@
 package com.minwoo.springdatajpa.repository;
 
+import com.minwoo.springdatajpa.dto.MemberCursor;
 import com.minwoo.springdatajpa.dto.MemberDto;
+import com.minwoo.springdatajpa.entity.BulkAuditing;
 import com.minwoo.springdatajpa.entity.Member;
 import com.minwoo.springdatajpa.entity.Team;
+import com.minwoo.springdatajpa.membercount.TeamMemberCountReconciler;
+import com.minwoo.springdatajpa.sql.BeforeSqlHook;
+import com.minwoo.springdatajpa.sql.QueryBudget;
+import com.minwoo.springdatajpa.sql.QueryCount;
+import com.minwoo.springdatajpa.sql.QueryCounter;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 
 @SpringBootTest
 @Transactional
+@Import(BeforeSqlHook.class)
 class MemberRepositoryTest {
 
     @Autowired
@@ -37,6 +66,24 @@ class MemberRepositoryTest {
     @Autowired
     MemberQueryRepository memberQueryRepository;
 
+    @Autowired
+    TeamMemberCountReconciler teamMemberCountReconciler;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    MemberBulkRepository memberBulkRepository;
+
+    @Value("${app.team.member-batch-size}")
+    int memberBatchSize;
+
+    @Value("${app.retry.optimistic.max-attempts}")
+    int maxAttempts;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
     @Test
     void saveAndFind() {
         Member savedMember = memberRepository.save(new Member("memberA"));
@@ -126,6 +173,21 @@ class MemberRepositoryTest {
         }
     }
 
+    @Test
+    void streamDto() {
+        Team teamA = new Team("teamA");
+        teamRepository.save(teamA);
+        memberRepository.save(new Member("stream1", 10, teamA));
+        memberRepository.save(new Member("stream2", 20));
+
+        // dto로 조회해서 영속성 컨텍스트에 entity가 쌓이지 않음
+        try (Stream<MemberDto> members = memberRepository.streamMemberDto()) {
+            List<MemberDto> streamed = members.filter(dto -> dto.getUsername().startsWith("stream")).toList();
+
+            assertThat(streamed).extracting("teamName").containsExactlyInAnyOrder("teamA", null);
+        }
+    }
+
     @Test
     void findNames() {
         memberRepository.save(new Member("aaa", 10));
@@ -138,6 +200,27 @@ class MemberRepositoryTest {
         }
     }
 
+    @Test
+    void findNamesLargeList() {
+        memberRepository.save(new Member("inList1", 10));
+        memberRepository.save(new Member("inList2", 20));
+
+        // 3000개 -> in 절 batch 3번 / 20000개 -> 임시 table join
+        for (int size : List.of(3000, 20000)) {
+            List<String> names = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                names.add("none" + i);
+            }
+            names.add("inList1");
+            names.add("inList2");
+            names.add("inList2"); // 중복은 한 번만 조회
+
+            assertThat(memberRepository.findByNames(names))
+                    .extracting(Member::getUsername)
+                    .containsExactlyInAnyOrder("inList1", "inList2");
+        }
+    }
+
     @Test
     void findReturnType() {
         memberRepository.save(new Member("aaa", 10));
@@ -183,6 +266,28 @@ class MemberRepositoryTest {
         assertThat(memberPages.hasNext()).isTrue(); // 다음 페이지 존재여부
     }
 
+    @Test
+    void pagingCountMode() {
+        for (int i = 0; i < 5; i++) {
+            memberRepository.save(new Member("member" + i, 300));
+        }
+        PageRequest pageRequest = PageRequest.of(0, 2);
+
+        assertThat(memberRepository.findPageByAge(300, pageRequest, CountMode.EXACT).getTotalElements()).isEqualTo(5);
+        assertThat(memberRepository.findPageByAge(300, pageRequest, CountMode.CACHED).getTotalElements()).isEqualTo(5);
+        assertThat(memberRepository.findPageByAge(300, pageRequest, CountMode.CACHED).getTotalElements()).isEqualTo(5); // cache
+
+        // member table이 바뀌면 cache된 count도 무효화
+        memberRepository.save(new Member("member5", 300));
+        entityManager.flush();
+        assertThat(memberRepository.findPageByAge(300, pageRequest, CountMode.CACHED).getTotalElements()).isEqualTo(6);
+
+        // 추정치 - 정확한 값은 아님
+        Page<MemberProjection> estimated = memberRepository.findByNativeQueryByProjection(pageRequest, CountMode.ESTIMATED);
+        assertThat(estimated.getContent()).hasSize(2);
+        assertThat(estimated.getTotalElements()).isGreaterThanOrEqualTo(2);
+    }
+
     @Test
     void slice() {
         memberRepository.save(new Member("member1", 10));
@@ -209,6 +314,57 @@ class MemberRepositoryTest {
         assertThat(memberSlices.hasNext()).isTrue(); // 다음 페이지 존재여부
     }
 
+    @Test
+    void keyset() {
+        Member member1 = memberRepository.save(new Member("zmember3", 10));
+        memberRepository.save(new Member("zmember1", 10));
+        memberRepository.save(new Member("zmember2", 10));
+        memberRepository.save(new Member("zmember1", 20));
+
+        // offset/count 없이 마지막 key 이후만 조회
+        Window<Member> byId = memberRepository.scrollById(ScrollPosition.forward(Map.of("id", member1.getId() - 1)), 3);
+        Window<Member> byIdNext = memberRepository.scrollById((KeysetScrollPosition) byId.positionAt(byId.size() - 1), 3);
+
+        assertThat(byId.getContent()).extracting("username").containsExactly("zmember3", "zmember1", "zmember2");
+        assertThat(byId.hasNext()).isTrue();
+        assertThat(byIdNext.getContent()).extracting("username").containsExactly("zmember1");
+        assertThat(byIdNext.hasNext()).isFalse();
+
+        // (username, id) 순서 - 같은 username은 id로 구분
+        Window<Member> byUsername = memberRepository.scrollByUsername(ScrollPosition.forward(Map.of("username", "zmember", "id", 0L)), 3);
+        Window<Member> byUsernameNext = memberRepository.scrollByUsername((KeysetScrollPosition) byUsername.positionAt(byUsername.size() - 1), 3);
+
+        assertThat(byUsername.getContent()).extracting("username").containsExactly("zmember1", "zmember1", "zmember2");
+        assertThat(byUsernameNext.getContent()).extracting("username").containsExactly("zmember3");
+    }
+
+    @Test
+    void keysetNullUsername() {
+        List<Long> ids = Stream.of(new Member(null, 10), new Member(null, 10), new Member(null, 10), new Member("amember", 10))
+                               .map(memberRepository::save)
+                               .map(Member::getId)
+                               .toList();
+
+        // mysql은 null이 먼저 - null username 구간을 지나 non-null로 이어지는지 cursor 왕복으로 확인
+        List<Long> scrolled = new ArrayList<>();
+        KeysetScrollPosition position = ScrollPosition.keyset();
+        Window<Member> window;
+        do {
+            window = memberRepository.scrollByUsername(position, 2);
+            window.forEach(member -> scrolled.add(member.getId()));
+            if (window.isEmpty()) {
+                break;
+            }
+            position = MemberCursor.decode(MemberCursor.encode(window.positionAt(window.size() - 1)), MemberCursor.USERNAME);
+        } while (window.hasNext() && !scrolled.containsAll(ids));
+
+        assertThat(scrolled).doesNotHaveDuplicates().containsAll(ids);
+
+        // username 없는 위치(id keyset)는 거부
+        assertThatThrownBy(() -> memberRepository.scrollByUsername(ScrollPosition.forward(Map.of("id", 0L)), 2))
+                .isInstanceOfAny(IllegalArgumentException.class, InvalidDataAccessApiUsageException.class); // repository 예외 변환
+    }
+
     @Test
     void bulkAgePlus() {
         memberRepository.save(new Member("member1", 10));
@@ -228,6 +384,67 @@ class MemberRepositoryTest {
         assertThat(memberRepository.findMemberByUsername("member1").getAge()).isEqualTo(11);
     }
 
+    @Test
+    void bulkAgePlusEvict() {
+        Team teamA = new Team("teamA");
+        teamRepository.save(teamA);
+        Member member1 = memberRepository.save(new Member("member1", 100, teamA));
+        Member member2 = memberRepository.save(new Member("member2", 100, teamA));
+        Member member3 = memberRepository.save(new Member("member3", 200, teamA));
+
+        // 대상(age 100) entity만 다시 읽어옴 - team, member3은 그대로 영속 상태
+        int count = memberRepository.bulkAgePlus(100, EvictMode.REFRESH);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(member1.getAge()).isEqualTo(101);
+        assertThat(member2.getAge()).isEqualTo(101);
+        assertThat(entityManager.contains(teamA)).isTrue();
+        assertThat(entityManager.contains(member3)).isTrue();
+
+        // detach는 대상만 준영속으로 만들고 다음 조회 때 새로 select
+        memberRepository.bulkAgePlus(101, EvictMode.DETACH);
+
+        assertThat(entityManager.contains(member1)).isFalse();
+        assertThat(entityManager.contains(member3)).isTrue();
+        assertThat(memberRepository.findById(member1.getId()).get().getAge()).isEqualTo(102);
+    }
+
+    @Test
+    void bulkAgePlusEvictMatchesDb() {
+        Member stale = memberRepository.save(new Member("stale", 100));
+        Member moved = memberRepository.save(new Member("moved", 200));
+        Member other = memberRepository.save(new Member("other", 200));
+        entityManager.flush();
+
+        // 1차 캐시 모르게 db 값만 변경 - 메모리 값이 아니라 db의 update 조건으로 대상을 판단해야 함
+        jdbcTemplate.update("update member set age = 300 where member_id = ?", stale.getId());
+        jdbcTemplate.update("update member set age = 100 where member_id = ?", moved.getId());
+
+        int count = memberRepository.bulkAgePlus(100, EvictMode.REFRESH);
+
+        assertThat(count).isEqualTo(1);
+        assertThat(moved.getAge()).isEqualTo(101); // 메모리 값(200)은 조건과 달라도 db 기준 대상
+        assertThat(stale.getAge()).isEqualTo(100); // 대상 아님 - refresh 하지 않음
+        assertThat(entityManager.contains(stale)).isTrue();
+        assertThat(other.getAge()).isEqualTo(200);
+        assertThat(entityManager.contains(other)).isTrue();
+    }
+
+    @Test
+    void queryCacheAfterBulkUpdate() {
+        memberRepository.save(new Member("cached", 30));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(memberRepository.findByUsername("cached").get(0).getAge()).isEqualTo(30);
+        assertThat(memberRepository.findByUsername("cached").get(0).getAge()).isEqualTo(30); // query cache
+
+        // jpql bulk update는 Member region과 member table의 query cache를 무효화함
+        memberRepository.bulkAgePlus(30);
+
+        assertThat(memberRepository.findByUsername("cached").get(0).getAge()).isEqualTo(31);
+    }
+
     @Test
     void findMemberLazy() {
         Team teamA = new Team("teamA");
@@ -256,6 +473,66 @@ class MemberRepositoryTest {
         System.out.println("member.getTeam().getName() = " + member.getTeam().getName());
     }
 
+    @Test
+    void fetchJoinQueryCount() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        teamRepository.save(teamA);
+        teamRepository.save(teamB);
+        memberRepository.save(new Member("member1", 10, teamA));
+        memberRepository.save(new Member("member2", 10, teamB));
+
+        entityManager.flush();
+        entityManager.clear();
+
+        // fetch join은 team까지 한 번에 조회 -> team 접근 시 추가 쿼리 없음
+        QueryCount count = QueryCounter.count(() -> memberRepository.findMemberFetchJoin()
+                                                                    .forEach(member -> {
+                                                                        if (member.getTeam() != null) {
+                                                                            member.getTeam().getName();
+                                                                        }
+                                                                    }));
+
+        assertThat(count.getTotal()).isEqualTo(1);
+    }
+
+    @Test
+    void teamWithMemberList() {
+        // member-batch-size보다 많은 team -> memberList 조회가 batch 크기로 나뉨
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < memberBatchSize + memberBatchSize / 2; i++) {
+            teams.add(new Team("memberListTeam" + i));
+        }
+        memberBulkRepository.saveAllTeams(teams);
+        List<Member> members = new ArrayList<>();
+        for (Team team : teams) {
+            members.add(new Member(team.getName() + "-1", 10, team));
+            members.add(new Member(team.getName() + "-2", 10, team));
+        }
+        memberBulkRepository.saveAllMembers(members);
+        entityManager.flush();
+        entityManager.clear();
+
+        // team page 조회 1번 + memberList 조회 (page 크기 / batch 크기 올림)번 - team 수만큼 나가지 않음
+        List<Page<Team>> pages = new ArrayList<>();
+        QueryCount count = QueryCounter.count(() -> {
+            Page<Team> page = teamRepository.findAllWithMemberList(PageRequest.of(0, 2000, Sort.by("id")));
+            page.filter(team -> team.getName().startsWith("memberListTeam"))
+                .forEach(team -> assertThat(team.getMemberList()).hasSize(2));
+            pages.add(page);
+        });
+
+        int pageSize = pages.get(0).getNumberOfElements();
+        assertThat(pageSize).isGreaterThan(memberBatchSize);
+        assertThat(count.getTotal()).isEqualTo(1 + (pageSize + memberBatchSize - 1) / memberBatchSize);
+    }
+
+    @Test
+    @QueryBudget(1)
+    void dtoQueryBudget() {
+        memberRepository.findMemberDto();
+    }
+
     @Test
     void queryHint() {
         Member member1 = memberRepository.save(new Member("member1", 10));
@@ -343,6 +620,193 @@ class MemberRepositoryTest {
         System.out.println("membersByQuery.get(0).getUpdatedBy() = " + membersByQuery.get(0).getUpdatedBy());
     }
 
+    @Test
+    void auditorPerTransaction() {
+        Member member1 = memberRepository.save(new Member("member1", 10));
+        Member member2 = memberRepository.save(new Member("member2", 10));
+
+        // 같은 transaction 안에서는 auditor를 한 번만 구함
+        assertThat(member1.getCreatedBy()).isNotNull();
+        assertThat(member1.getCreatedBy()).isEqualTo(member2.getCreatedBy());
+    }
+
+    @Test
+    void bulkAuditing() {
+        try (BulkAuditing auditing = BulkAuditing.begin("importer")) {
+            Member member1 = memberRepository.save(new Member("member1", 10));
+            Member member2 = memberRepository.save(new Member("member2", 10));
+
+            // 구간 시작 시각/auditor로 채움
+            assertThat(member1.getCreatedBy()).isEqualTo("importer");
+            assertThat(member1.getCreatedDate()).isNotNull();
+            assertThat(member1.getCreatedDate()).isEqualTo(member2.getCreatedDate());
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // commit 시점 충돌/재시도를 보려면 transaction 바깥에서 호출
+    void optimisticLock() {
+        Member member = memberRepository.save(new Member("optimistic", 10));
+        Member stale = memberRepository.findById(member.getId()).get();
+
+        Member increased = memberRepository.increaseAge(member.getId(), 1);
+        assertThat(increased.getAge()).isEqualTo(11);
+        assertThat(increased.getVersion()).isEqualTo(member.getVersion() + 1);
+
+        // 이미 수정된 row를 예전 version으로 덮어쓰면 실패
+        stale.setAge(99);
+        assertThatThrownBy(() -> memberRepository.save(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        memberRepository.deleteById(member.getId());
+    }
+
+    // 첫 시도의 update 직전에 다른 transaction이 먼저 수정/commit -> 충돌 후 새 transaction에서 다시 읽어서 성공
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void optimisticRetry() {
+        Member member = memberRepository.save(new Member("retry", 10));
+
+        try (BeforeSqlHook hook = BeforeSqlHook.install("update member", 1, () -> concurrentAgePlus(member.getId(), 100))) {
+            Member increased = memberRepository.increaseAge(member.getId(), 1);
+
+            assertThat(hook.fired()).isEqualTo(1);
+            assertThat(increased.getAge()).isEqualTo(10 + 100 + 1); // 다른 transaction의 변경 + 재시도한 변경
+            assertThat(increased.getVersion()).isEqualTo(member.getVersion() + 2);
+        }
+
+        memberRepository.deleteById(member.getId());
+    }
+
+    // 매 시도가 충돌하면 max-attempts번 시도 후 예외
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void optimisticRetryGivesUp() {
+        Member member = memberRepository.save(new Member("retryGiveUp", 10));
+
+        try (BeforeSqlHook hook = BeforeSqlHook.install("update member", Integer.MAX_VALUE, () -> concurrentAgePlus(member.getId(), 100))) {
+            assertThatThrownBy(() -> memberRepository.increaseAge(member.getId(), 1))
+                    .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+            assertThat(hook.fired()).isEqualTo(maxAttempts);
+        }
+        // increaseAge의 변경은 하나도 반영되지 않음
+        assertThat(memberRepository.findById(member.getId()).orElseThrow().getAge()).isEqualTo(10 + 100 * maxAttempts);
+
+        memberRepository.deleteById(member.getId());
+    }
+
+    // 다른 transaction(auto commit)이 age와 version을 바꿈 - hibernate를 거치지 않으므로 2차 cache도 비움
+    private void concurrentAgePlus(Long memberId, int delta) {
+        jdbcTemplate.update("update member set age = age + ?, version = version + 1 where member_id = ?", delta, memberId);
+        entityManager.getEntityManagerFactory().getCache().evict(Member.class, memberId);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // lock을 잡는 transaction과 기다리는 transaction이 따로 있어야 함
+    void lockTimeout() throws Exception {
+        Member member = memberRepository.save(new Member("lockTimeout", 10));
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // 잠기지 않은 row는 기다리지 않음
+        assertThat(memberRepository.findLockByUsername("lockTimeout", Duration.ofSeconds(1)).getId()).isEqualTo(member.getId());
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> holder = executor.submit(() -> transaction.executeWithoutResult(status -> {
+            memberRepository.findLockByUsername("lockTimeout");
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        try {
+            assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // nowait / timeout 0 - 바로 실패
+            assertThat(lockFailure(() -> transaction.executeWithoutResult(status -> memberRepository.findLockNoWaitByUsername("lockTimeout"))))
+                    .isLessThan(Duration.ofSeconds(1));
+            assertThat(lockFailure(() -> memberRepository.findLockByUsername("lockTimeout", Duration.ZERO)))
+                    .isLessThan(Duration.ofSeconds(1));
+
+            // 1.5초 -> innodb_lock_wait_timeout 2초(버림이면 1초)
+            assertThat(lockFailure(() -> memberRepository.findLockByUsername("lockTimeout", Duration.ofMillis(1500))))
+                    .isGreaterThanOrEqualTo(Duration.ofMillis(1500));
+        } finally {
+            release.countDown();
+            holder.get();
+            executor.shutdown();
+        }
+
+        memberRepository.deleteById(member.getId());
+    }
+
+    @Test
+    void lockWaitSeconds() {
+        assertThat(MemberRepositoryImpl.lockWaitSeconds(Duration.ofMillis(1))).isEqualTo(1);
+        assertThat(MemberRepositoryImpl.lockWaitSeconds(Duration.ofMillis(1900))).isEqualTo(2);
+        assertThat(MemberRepositoryImpl.lockWaitSeconds(Duration.ofSeconds(2))).isEqualTo(2);
+        assertThat(MemberRepositoryImpl.lockWaitSeconds(Duration.ofDays(365 * 100))).isEqualTo(1_073_741_824);
+    }
+
+    // lock을 못 얻어서 실패하기까지 걸린 시간
+    private static Duration lockFailure(Runnable work) {
+        long start = System.nanoTime();
+        assertThatThrownBy(work::run).isInstanceOf(PessimisticLockingFailureException.class);
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    @Test
+    void statelessBulk() {
+        Team team = teamRepository.save(new Team("statelessTeam"));
+        List<Member> members = List.of(new Member("stateless1", 7000, team), new Member("stateless2", 7000, team));
+
+        // 영속성 컨텍스트/listener를 거치지 않아도 id와 auditing 값이 채워짐
+        memberRepository.insertAllStateless(members);
+        assertThat(members).allMatch(member -> member.getId() != null && member.getCreatedDate() != null && member.getCreatedBy() != null);
+
+        members.forEach(member -> member.setAge(7001));
+        memberRepository.updateAllStateless(members);
+
+        List<Member> scrolled = new ArrayList<>();
+        long count = memberRepository.scrollStateless("select m from Member m where m.age = :age", Member.class, Map.of("age", 7001), scrolled::add);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(scrolled).extracting(Member::getVersion).containsOnly(1L);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // member_count는 commit 직전에 반영됨
+    void teamMemberCount() {
+        Team teamA = teamRepository.save(new Team("countA"));
+        Team teamB = teamRepository.save(new Team("countB"));
+        Member member1 = memberRepository.save(new Member("count1", 10, teamA));
+        Member member2 = memberRepository.save(new Member("count2", 10, teamA));
+        assertThat(memberCount(teamA)).isEqualTo(2);
+
+        // team 변경 / 삭제
+        member1.changeTeam(teamB);
+        member1 = memberRepository.save(member1);
+        memberRepository.delete(member2);
+        assertThat(memberCount(teamA)).isEqualTo(0);
+        assertThat(memberCount(teamB)).isEqualTo(1);
+
+        // delta 없이 어긋난 값은 reconcile로 맞춤
+        jdbcTemplate.update("update team set member_count = 5 where team_id = ?", teamB.getId());
+        assertThat(teamMemberCountReconciler.reconcile()).isGreaterThanOrEqualTo(1);
+        assertThat(memberCount(teamB)).isEqualTo(1);
+
+        memberRepository.delete(member1);
+        teamRepository.deleteAllById(List.of(teamA.getId(), teamB.getId()));
+    }
+
+    private long memberCount(Team team) {
+        return teamRepository.findById(team.getId()).orElseThrow().getMemberCount();
+    }
+
     @Test
     void nativeQuery() {
         String id = memberRepository.findByNativeQuery("member1", 1);
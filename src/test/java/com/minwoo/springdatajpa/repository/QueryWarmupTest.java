@@ -0,0 +1,23 @@
+package com.minwoo.springdatajpa.repository;
+
+import com.minwoo.springdatajpa.dto.QueryWarmupResultDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.query-warmup.enabled=true")
+class QueryWarmupTest {
+
+    @Autowired QueryWarmup queryWarmup;
+
+    @Test
+    void warmup() {
+        // @Query, @NamedQuery, *JpaRepository의 jpql을 모두 parse
+        assertThat(queryWarmup.getResults())
+                .extracting(QueryWarmupResultDto::getSource)
+                .contains("MemberRepository.findUser", "Member.findByUsername", "MemberJpaRepository#0", "TeamJpaRepository#0");
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.minwoo.springdatajpa.sql;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 모양(shape) 정규화 - literal과 in 목록 크기가 달라도 같은 모양으로 집계
+class AsyncSqlLoggerTest {
+
+    @Test
+    void literals() {
+        assertThat(AsyncSqlLogger.normalize("select * from member where username = 'kim' and age = 10"))
+                .isEqualTo("select * from member where username = ? and age = ?");
+        assertThat(AsyncSqlLogger.normalize("select * from member where username = 'o''brien' and score > 1.5"))
+                .isEqualTo("select * from member where username = ? and score > ?");
+    }
+
+    // 이름 안의 숫자는 literal이 아님
+    @Test
+    void identifiersWithDigits() {
+        assertThat(AsyncSqlLogger.normalize("select m1_0.member_id from member m1_0"))
+                .isEqualTo("select m1_0.member_id from member m1_0");
+    }
+
+    @Test
+    void inList() {
+        assertThat(AsyncSqlLogger.normalize("select * from member where member_id in (?, ?, ?)"))
+                .isEqualTo(AsyncSqlLogger.normalize("select * from member where member_id in (?)"))
+                .isEqualTo("select * from member where member_id in (?)");
+        assertThat(AsyncSqlLogger.normalize("select * from member where member_id IN (1,2, 3)"))
+                .isEqualTo("select * from member where member_id in (?)");
+    }
+
+    @Test
+    void whitespace() {
+        assertThat(AsyncSqlLogger.normalize("  select *\n    from member\n\twhere age = ?  "))
+                .isEqualTo("select * from member where age = ?");
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.minwoo.springdatajpa.sql;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+// p6spy listener - install() 한 thread가 sqlPrefix로 시작하는 sql을 실행하기 직전에 action을 다른 thread에서 실행하고 끝날 때까지 기다림
+// action은 현재 transaction과 별개(다른 connection, auto commit)라서 "다른 transaction이 먼저 commit"한 상황을 정확한 시점에 만듦
+// test에서 @Import(BeforeSqlHook.class)로 bean 등록하면 p6spy starter가 listener로 붙임
+public class BeforeSqlHook extends JdbcEventListener implements AutoCloseable {
+
+    private static final ThreadLocal<BeforeSqlHook> INSTALLED = new ThreadLocal<>();
+
+    private final String sqlPrefix;
+    private final Runnable action;
+    private int remaining;
+    private int fired;
+
+    // listener bean 용
+    public BeforeSqlHook() {
+        this(null, 0, null);
+    }
+
+    private BeforeSqlHook(String sqlPrefix, int times, Runnable action) {
+        this.sqlPrefix = sqlPrefix;
+        this.remaining = times;
+        this.action = action;
+    }
+
+    // times번까지만 실행
+    public static BeforeSqlHook install(String sqlPrefix, int times, Runnable action) {
+        BeforeSqlHook hook = new BeforeSqlHook(sqlPrefix.toLowerCase(Locale.ROOT), times, action);
+        INSTALLED.set(hook);
+        return hook;
+    }
+
+    public int fired() {
+        return fired;
+    }
+
+    @Override
+    public void onBeforeAnyExecute(StatementInformation statementInformation) {
+        BeforeSqlHook hook = INSTALLED.get();
+        if (hook == null || hook.remaining == 0 || statementInformation.getSql() == null ||
+            !statementInformation.getSql().trim().toLowerCase(Locale.ROOT).startsWith(hook.sqlPrefix)) {
+            return;
+        }
+        hook.remaining--;
+        hook.fired++;
+        CompletableFuture.runAsync(hook.action).join();
+    }
+
+    @Override
+    public void close() {
+        INSTALLED.remove();
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.minwoo.springdatajpa.sql;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+// @BeforeEach, test transaction 시작 이후부터 본문이 끝날 때까지만 셈
+public class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        QueryCounter.start();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        QueryCount count = QueryCounter.stop();
+        QueryBudget budget = context.getRequiredTestMethod().getAnnotation(QueryBudget.class);
+
+        if (budget != null && count.getTotal() > budget.value()) {
+            throw new AssertionError("query budget exceeded: expected at most " + budget.value() +
+                                     " but was " + count.getTotal() + " " + count.getRepeated(1).keySet());
+        }
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.minwoo.springdatajpa.sql;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// p6spy listener - capture() 안에서 현재 thread가 실행한 sql을 parameter 값이 들어간 형태로 모음(EXPLAIN 용)
+// test에서 @Import(SqlCapture.class)로 bean 등록하면 p6spy starter가 listener로 붙임
+public class SqlCapture extends JdbcEventListener {
+
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    public static List<String> capture(Runnable runnable) {
+        CAPTURED.set(new ArrayList<>());
+        try {
+            runnable.run();
+            return CAPTURED.get();
+        } finally {
+            CAPTURED.remove();
+        }
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        List<String> captured = CAPTURED.get();
+        if (captured != null && e == null) {
+            captured.add(statementInformation.getSqlWithValues());
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.minwoo.springdatajpa.sql;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlEventRingTest {
+
+    @Test
+    void drainInOrder() {
+        SqlEventRing ring = new SqlEventRing(4);
+        for (int i = 0; i < 3; i++) {
+            ring.offer(event(i));
+        }
+
+        assertThat(drain(ring)).containsExactly(0L, 1L, 2L);
+        assertThat(drain(ring)).isEmpty();
+        assertThat(ring.dropped()).isZero();
+    }
+
+    // 한 바퀴를 넘으면 오래된 event를 덮어쓰고 dropped로 셈 / 남은 건 최근 capacity개
+    @Test
+    void wrapAndDrop() {
+        SqlEventRing ring = new SqlEventRing(4);
+        for (int i = 0; i < 6; i++) {
+            ring.offer(event(i));
+        }
+
+        assertThat(ring.dropped()).isEqualTo(2);
+        assertThat(drain(ring)).containsExactly(2L, 3L, 4L, 5L);
+
+        ring.offer(event(6));
+        assertThat(drain(ring)).containsExactly(6L);
+        assertThat(ring.dropped()).isEqualTo(2);
+    }
+
+    // 넣는 중에 drain해도 빠지는 event가 없음(capacity 안에서는 dropped 0)
+    @Test
+    void concurrentOfferAndDrain() throws Exception {
+        int threads = 4;
+        int perThread = 10_000;
+        SqlEventRing ring = new SqlEventRing(threads * perThread);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            writers.add(executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    ring.offer(event((long) thread * perThread + i));
+                }
+            }));
+        }
+
+        Set<Long> drained = new HashSet<>();
+        List<Long> duplicated = new ArrayList<>();
+        while (!writers.stream().allMatch(Future::isDone)) {
+            ring.drain(event -> collect(drained, duplicated, event));
+        }
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        ring.drain(event -> collect(drained, duplicated, event));
+        executor.shutdown();
+
+        assertThat(duplicated).isEmpty();
+        assertThat(drained).hasSize(threads * perThread);
+        assertThat(ring.dropped()).isZero();
+    }
+
+    private static void collect(Set<Long> drained, List<Long> duplicated, SqlEvent event) {
+        if (!drained.add(event.elapsedNanos)) {
+            duplicated.add(event.elapsedNanos);
+        }
+    }
+
+    // elapsedNanos를 event 번호로 사용
+    private static SqlEvent event(long id) {
+        return new SqlEvent("select " + id, id, false);
+    }
+
+    private static List<Long> drain(SqlEventRing ring) {
+        List<Long> drained = new ArrayList<>();
+        ring.drain(event -> drained.add(event.elapsedNanos));
+        return drained;
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.minwoo.springdatajpa.sql;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// p99는 2의 거듭제곱 구간 [2^(i-1), 2^i)의 상한값
+class SqlShapeStatsTest {
+
+    @Test
+    void bucketBoundaries() {
+        assertThat(p99(0, 100)).isZero();
+        assertThat(p99(1, 100)).isEqualTo(2);
+        assertThat(p99(1023, 100)).isEqualTo(1024);
+        assertThat(p99(1024, 100)).isEqualTo(2048);
+        assertThat(p99(Long.MAX_VALUE, 1)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    // 100건 중 느린 1건은 p99에 안 들어가고 2건이면 들어감
+    @Test
+    void percentile() {
+        assertThat(p99(1000, 99, 1_000_000, 1)).isEqualTo(1024);
+        assertThat(p99(1000, 98, 1_000_000, 2)).isEqualTo(1 << 20);
+    }
+
+    @Test
+    void countAndFailed() {
+        SqlShapeStats stats = new SqlShapeStats();
+        stats.record(new SqlEvent("select 1", 10, false));
+        stats.record(new SqlEvent("select 1", 20, true));
+
+        assertThat(stats.count()).isEqualTo(2);
+        assertThat(stats.failed()).isEqualTo(1);
+        assertThat(stats.totalNanos()).isEqualTo(30);
+    }
+
+    @Test
+    void empty() {
+        assertThat(new SqlShapeStats().p99Nanos()).isZero();
+    }
+
+    private static long p99(long nanos, int times) {
+        return p99(nanos, times, 0, 0);
+    }
+
+    private static long p99(long nanos, int times, long slowNanos, int slowTimes) {
+        SqlShapeStats stats = new SqlShapeStats();
+        for (int i = 0; i < times; i++) {
+            stats.record(new SqlEvent("select 1", nanos, false));
+        }
+        for (int i = 0; i < slowTimes; i++) {
+            stats.record(new SqlEvent("select 1", slowNanos, false));
+        }
+        return stats.p99Nanos();
+    }
+
+}
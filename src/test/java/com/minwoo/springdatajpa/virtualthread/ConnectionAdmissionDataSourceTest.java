@@ -0,0 +1,54 @@
+package com.minwoo.springdatajpa.virtualthread;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConnectionAdmissionDataSourceTest {
+
+    EmbeddedDatabase database;
+    ConnectionAdmissionDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2)
+                                                .generateUniqueName(true)
+                                                .build();
+        dataSource = new ConnectionAdmissionDataSource(database, 1, Duration.ofMillis(100));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void admitUpToPermits() throws Exception {
+        Connection connection = dataSource.getConnection();
+        assertThat(dataSource.getAvailablePermits()).isZero();
+
+        // permit이 없으면 acquire-timeout 후 실패
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        // close를 여러 번 해도 한 번만 반납
+        connection.close();
+        connection.close();
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+
+        try (Connection next = dataSource.getConnection()) {
+            assertThat(next.isValid(1)).isTrue();
+        }
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(1);
+    }
+
+}
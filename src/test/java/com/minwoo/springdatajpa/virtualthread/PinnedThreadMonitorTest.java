@@ -0,0 +1,73 @@
+package com.minwoo.springdatajpa.virtualthread;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PinnedThreadMonitorTest {
+
+    @Test
+    void culpritSkipsJdkFrames() {
+        List<String> frames = List.of("java.lang.Thread.sleep:0",
+                                      "jdk.internal.misc.Blocker.begin:1",
+                                      "sun.nio.ch.NioSocketImpl.read:2",
+                                      "com.mysql.cj.protocol.a.NativeProtocol.sendCommand:3",
+                                      "com.minwoo.springdatajpa.repository.MemberRepositoryImpl.findByNames:4");
+
+        assertThat(PinnedThreadMonitor.culprit(frames)).isEqualTo("com.mysql.cj.protocol.a.NativeProtocol.sendCommand:3");
+        assertThat(PinnedThreadMonitor.culprit(List.of("java.lang.Object.wait:0"))).isEqualTo("unknown");
+        assertThat(PinnedThreadMonitor.culprit(List.of())).isEqualTo("unknown");
+    }
+
+    @Test
+    void countPerCulprit() {
+        PinnedThreadMonitor monitor = new PinnedThreadMonitor(Duration.ofMillis(20));
+        List<String> mysql = List.of("java.lang.Thread.sleep:0", "com.mysql.cj.NativeSession.execSQL:1");
+
+        monitor.record(mysql, Duration.ofMillis(30));
+        monitor.record(mysql, Duration.ofMillis(40));
+        monitor.record(List.of(), Duration.ofMillis(50));
+
+        assertThat(monitor.getCounts()).isEqualTo(Map.of("com.mysql.cj.NativeSession.execSQL:1", 2L, "unknown", 1L));
+    }
+
+    // synchronized 안에서 sleep -> java 21에서는 pinning(jdk.VirtualThreadPinned)
+    // compile은 java 17이라 virtual thread는 reflection으로 시작
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void recordPinnedVirtualThread() throws Exception {
+        PinnedThreadMonitor monitor = new PinnedThreadMonitor(Duration.ofMillis(10));
+        monitor.afterPropertiesSet();
+        try {
+            Object lock = new Object();
+            Runnable pinned = () -> {
+                synchronized (lock) {
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            };
+            Thread thread = (Thread) Thread.class.getMethod("startVirtualThread", Runnable.class).invoke(null, pinned);
+            thread.join();
+
+            // recording stream은 주기적으로(약 1초) event를 전달
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (monitor.getCounts().isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(100);
+            }
+
+            assertThat(monitor.getCounts().keySet()).anySatisfy(culprit -> assertThat(culprit).startsWith(PinnedThreadMonitorTest.class.getName()));
+        } finally {
+            monitor.destroy();
+        }
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.minwoo.springdatajpa.virtualthread;
+
+import com.minwoo.springdatajpa.datasource.ReplicaRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// replica routing과 같이 쓰면 논리 connection(LazyConnectionDataSourceProxy)이 아니라 pool(primary, replica)마다 permit
+class VirtualThreadConfigTest {
+
+    EmbeddedDatabase primary;
+    EmbeddedDatabase replica;
+    BeanPostProcessor postProcessor;
+
+    @BeforeEach
+    void setUp() {
+        primary = database();
+        replica = database();
+        postProcessor = VirtualThreadConfig.connectionAdmissionPostProcessor(
+                new MockEnvironment().withProperty("app.virtual-threads.connection-admission.permits", "1")
+                                     .withProperty("app.virtual-threads.connection-admission.acquire-timeout", "100ms"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void wrapPlainDataSource() {
+        assertThat(postProcessor.postProcessAfterInitialization(primary, "dataSource")).isInstanceOf(ConnectionAdmissionDataSource.class);
+        assertThat(postProcessor.postProcessAfterInitialization(primary, "otherDataSource")).isSameAs(primary);
+    }
+
+    @Test
+    void wrapRoutingTargetsPerPool() throws Exception {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), Duration.ZERO, Duration.ofSeconds(5));
+        routing.afterPropertiesSet();
+        postProcessor.postProcessAfterInitialization(routing, "routingDataSource");
+
+        DataSource lazy = new LazyConnectionDataSourceProxy(routing);
+        assertThat(postProcessor.postProcessAfterInitialization(lazy, "dataSource")).isSameAs(lazy);
+
+        ConnectionAdmissionDataSource primaryAdmission = routing.unwrap(ConnectionAdmissionDataSource.class);
+        ConnectionAdmissionDataSource replicaAdmission = readOnly(() -> routing.unwrap(ConnectionAdmissionDataSource.class));
+        assertThat(replicaAdmission).isNotSameAs(primaryAdmission);
+
+        // 쿼리 전 논리 connection은 permit을 잡지 않음
+        try (Connection connection = lazy.getConnection()) {
+            assertThat(primaryAdmission.getAvailablePermits()).isEqualTo(1);
+
+            // 실제 connection을 얻을 때 해당 pool의 permit만 사용
+            connection.createStatement().close();
+            assertThat(primaryAdmission.getAvailablePermits()).isZero();
+            assertThat(replicaAdmission.getAvailablePermits()).isEqualTo(1);
+
+            // primary permit이 없어도 replica는 따로 들어감
+            try (Connection readOnlyConnection = readOnly(routing::getConnection)) {
+                assertThat(readOnlyConnection.isValid(1)).isTrue();
+                assertThat(replicaAdmission.getAvailablePermits()).isZero();
+            }
+        }
+        assertThat(primaryAdmission.getAvailablePermits()).isEqualTo(1);
+        assertThat(replicaAdmission.getAvailablePermits()).isEqualTo(1);
+    }
+
+    private static <T> T readOnly(SqlSupplier<T> supplier) throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            return supplier.get();
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+
+    private static EmbeddedDatabase database() {
+        return new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2)
+                                            .generateUniqueName(true)
+                                            .build();
+    }
+
+    private interface SqlSupplier<T> {
+        T get() throws SQLException;
+    }
+
+}